@@ -0,0 +1,34 @@
+package com.challenge.taskapp.jmh;
+
+import com.challenge.taskapp.dto.TaskResponse;
+import com.challenge.taskapp.enums.TaskStatus;
+import com.challenge.taskapp.model.Task;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Deterministic fixtures, so every run measures the same data.
+ */
+final class BenchmarkTasks {
+
+    private static final Instant BASE = Instant.parse("2025-01-01T00:00:00Z");
+
+    private BenchmarkTasks() {
+    }
+
+    static Task task(final int i) {
+        final Timestamp createdAt = Timestamp.from(BASE.plusSeconds(i));
+        final Timestamp updatedAt = Timestamp.from(BASE.plusSeconds(i).plusMillis(250));
+        final TaskStatus status = TaskStatus.values()[i % TaskStatus.values().length];
+        // Same layout as the ids of Task (version 7, time ordered), but reproducible
+        final UUID id = new UUID(createdAt.getTime() << 16 | 0x7000L, 0x8000_0000_0000_0000L | i);
+        return new Task(id, "Task " + i, "Description of task " + i, status,
+                createdAt, updatedAt, "public", i % 4);
+    }
+
+    static TaskResponse response(final int i) {
+        return new TaskResponse(task(i));
+    }
+}
@@ -0,0 +1,61 @@
+package com.challenge.taskapp.jmh;
+
+import com.challenge.taskapp.controller.TaskController;
+import com.challenge.taskapp.dto.AddTaskRequest;
+import com.challenge.taskapp.dto.CustomErrorResponse;
+import com.challenge.taskapp.exception.GlobalExceptionHandler;
+import com.challenge.taskapp.exception.NotFoundException;
+import com.challenge.taskapp.metrics.TenantTags;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of turning the most frequent client errors into {@link CustomErrorResponse}s, error counter included. The
+ * exceptions are created per invocation, like in a request, so stack trace capture is part of the measurement.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ErrorResponseBenchmark {
+
+    private GlobalExceptionHandler handler;
+    private WebRequest request;
+    private MethodParameter createParameter;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        handler = new GlobalExceptionHandler(new SimpleMeterRegistry(), new TenantTags(50));
+        request = new ServletWebRequest(new MockHttpServletRequest("GET", "/api/v1/tasks/0190a8e2-0000-7000-8000-000000000000"));
+        createParameter = new MethodParameter(TaskController.class.getMethod("create", AddTaskRequest.class), 0);
+    }
+
+    @Benchmark
+    public ResponseEntity<CustomErrorResponse> notFound() {
+        return handler.handleNotFoundException(new NotFoundException(), request);
+    }
+
+    @Benchmark
+    public ResponseEntity<CustomErrorResponse> validationFailed() {
+        final AddTaskRequest invalid = new AddTaskRequest(null, "Description");
+        final BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(invalid, "addTaskRequest");
+        bindingResult.addError(new FieldError("addTaskRequest", "title", null, false, new String[] {"NotNull"}, null,
+                "title cannot be null"));
+        return handler.handleValidationExceptions(new MethodArgumentNotValidException(createParameter, bindingResult), request);
+    }
+}
@@ -0,0 +1,73 @@
+package com.challenge.taskapp.jmh;
+
+import com.challenge.taskapp.config.CborConfig;
+import com.challenge.taskapp.dto.TaskResponse;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writing and reading a page of {@link TaskResponse} as JSON and as CBOR ({@code Accept: application/cbor}), with the
+ * mappers the application builds. The payload size of each format is printed at the end of the trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ResponseFormatBenchmark {
+
+    @Param({"json", "cbor"})
+    private String format;
+
+    @Param({"20", "100"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+    private JavaType pageType;
+    private List<TaskResponse> page;
+    private byte[] payload;
+
+    @Setup
+    public void setUp() throws IOException {
+        final Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        objectMapper = "cbor".equals(format) ? CborConfig.cborObjectMapper(builder) : builder.build();
+        pageType = objectMapper.getTypeFactory().constructCollectionType(List.class, TaskResponse.class);
+        page = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            page.add(BenchmarkTasks.response(i));
+        }
+        payload = objectMapper.writeValueAsBytes(page);
+    }
+
+    @TearDown(Level.Trial)
+    public void reportPayloadSize() {
+        System.out.printf("%n%s, %d tasks: %d bytes (%d per task)%n", format, pageSize, payload.length,
+                payload.length / pageSize);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public List<TaskResponse> deserialize() throws IOException {
+        return objectMapper.readValue(payload, pageType);
+    }
+}
@@ -0,0 +1,94 @@
+package com.challenge.taskapp.jmh;
+
+import com.challenge.taskapp.TaskAppApplication;
+import com.challenge.taskapp.dto.AddTaskRequest;
+import com.challenge.taskapp.dto.TaskResponse;
+import com.challenge.taskapp.repository.TaskRepository;
+import com.challenge.taskapp.service.TaskService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One page of 10k tasks read the way the list endpoints used to (entities in a read-write transaction, mapped to
+ * {@link TaskResponse}), as entities in a read-only transaction, and as the {@code select new} projection they use
+ * now. Below the service, so the list cache does not hide the query. Run with {@code -PjmhProfilers=gc} to compare
+ * the bytes allocated per page ({@code gc.alloc.rate.norm}) next to the latency.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TaskListProjectionBenchmark {
+
+    private static final int TASKS = 10_000;
+    private static final int BATCH = 500;
+    private static final Pageable PAGE = PageRequest.of(0, TASKS, Sort.by("createdAt"));
+
+    private ConfigurableApplicationContext context;
+    private TaskRepository taskRepository;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(TaskAppApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:jmh_" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN")
+                .run();
+        taskRepository = context.getBean(TaskRepository.class);
+        final PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        final TaskService taskService = context.getBean(TaskService.class);
+        for (int created = 0; created < TASKS; created += BATCH) {
+            final List<AddTaskRequest> requests = new ArrayList<>(BATCH);
+            for (int i = created; i < created + BATCH; i++) {
+                requests.add(new AddTaskRequest("Task " + i, "Description of task " + i));
+            }
+            taskService.createAll(requests, true);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<TaskResponse> entities() {
+        return readWrite.execute(status -> taskRepository.findAll(PAGE).map(TaskResponse::new).getContent());
+    }
+
+    @Benchmark
+    public List<TaskResponse> entitiesReadOnly() {
+        return readOnly.execute(status -> taskRepository.findAll(PAGE).map(TaskResponse::new).getContent());
+    }
+
+    @Benchmark
+    public List<TaskResponse> projection() {
+        return readOnly.execute(status -> taskRepository.findAllResponses(PAGE).getContent());
+    }
+}
@@ -0,0 +1,50 @@
+package com.challenge.taskapp.jmh;
+
+import com.challenge.taskapp.dto.TaskResponse;
+import com.challenge.taskapp.model.Task;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of mapping entities to {@link TaskResponse}, once per task and for a whole page as the list endpoints do.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TaskResponseBenchmark {
+
+    @Param({"20", "100"})
+    private int pageSize;
+
+    private Task task;
+    private List<Task> page;
+
+    @Setup
+    public void setUp() {
+        page = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            page.add(BenchmarkTasks.task(i));
+        }
+        task = page.getFirst();
+    }
+
+    @Benchmark
+    public TaskResponse fromTask() {
+        return new TaskResponse(task);
+    }
+
+    @Benchmark
+    public List<TaskResponse> fromPage() {
+        return page.stream().map(TaskResponse::new).toList();
+    }
+}
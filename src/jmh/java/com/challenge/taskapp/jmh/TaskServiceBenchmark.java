@@ -0,0 +1,89 @@
+package com.challenge.taskapp.jmh;
+
+import com.challenge.taskapp.TaskAppApplication;
+import com.challenge.taskapp.dto.AddTaskRequest;
+import com.challenge.taskapp.dto.TaskResponse;
+import com.challenge.taskapp.dto.UpdateTaskRequest;
+import com.challenge.taskapp.service.TaskService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link TaskService} create, update and find on the real Spring context and an in-memory H2 database, so JPA,
+ * Hibernate, the transaction proxies and the read cache are all part of the measurement.
+ * <p>
+ * {@code cached=false} sizes the task cache to zero, so every find reaches the database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TaskServiceBenchmark {
+
+    private static final int TASKS = 1_000;
+
+    @Param({"true", "false"})
+    private boolean cached;
+
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+    private UUID[] ids;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(TaskAppApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:jmh_" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN",
+                        "app.cache.tasks.maximum-size=" + (cached ? 10_000 : 0))
+                .run();
+        taskService = context.getBean(TaskService.class);
+
+        ids = new UUID[TASKS];
+        for (int i = 0; i < TASKS; i++) {
+            ids[i] = taskService.create(new AddTaskRequest("Task " + i, "Description of task " + i)).id();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public TaskResponse create() {
+        return taskService.create(new AddTaskRequest("New task", "Created by the benchmark"));
+    }
+
+    @Benchmark
+    public TaskResponse update() {
+        final UUID id = nextId();
+        return taskService.update(id, new UpdateTaskRequest("Updated " + next, "Updated by the benchmark", null));
+    }
+
+    @Benchmark
+    public TaskResponse find() {
+        return taskService.find(nextId());
+    }
+
+    // Round robin over the fixture; the benchmarks run on a single thread, so the plain counter is enough
+    private UUID nextId() {
+        next = (next + 1) % TASKS;
+        return ids[next];
+    }
+}
@@ -0,0 +1,31 @@
+package com.challenge.taskapp.archive;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Archival of DONE tasks: {@code app.archive.after} for every tenant, {@code app.archive.tenants.<tenant>} to override
+ * it for one.
+ *
+ * @param after     DONE tasks not changed for this long are archived
+ * @param batchSize tasks moved per transaction
+ * @param pause     wait between two batches of the same tenant, so the job never monopolizes the database
+ */
+@ConfigurationProperties("app.archive")
+public record ArchiveProperties(@DefaultValue("true") boolean enabled,
+                                @DefaultValue("P30D") Duration after,
+                                @DefaultValue("500") int batchSize,
+                                @DefaultValue("PT0.1S") Duration pause,
+                                Map<String, Duration> tenants) {
+
+    public ArchiveProperties {
+        tenants = tenants == null ? Map.of() : Map.copyOf(tenants);
+    }
+
+    public Duration after(final String tenant) {
+        return tenants.getOrDefault(tenant, after);
+    }
+}
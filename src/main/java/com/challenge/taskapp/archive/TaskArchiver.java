@@ -0,0 +1,101 @@
+package com.challenge.taskapp.archive;
+
+import com.challenge.taskapp.enums.TaskStatus;
+import com.challenge.taskapp.metrics.TenantTags;
+import com.challenge.taskapp.repository.TaskRepository;
+import com.challenge.taskapp.service.TaskService;
+import com.challenge.taskapp.tenant.TenancyProperties;
+import com.challenge.taskapp.tenant.TenantContext;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Moves the DONE tasks of every tenant not changed for {@code app.archive.after} from TASKS to TASKS_ARCHIVE, every
+ * {@code app.archive.interval}. This keeps TASKS and its indexes sized by the active tasks, whatever the history.
+ * <p>
+ * Each batch of {@code app.archive.batch-size} tasks is its own short transaction, which only locks the rows it moves,
+ * and batches of a tenant are spaced by {@code app.archive.pause}. Moved rows are counted by the
+ * {@code tasks.archived} meter, per tenant, and logged per run.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TaskArchiver {
+
+    private final TaskService taskService;
+    private final TaskRepository taskRepository;
+    private final ArchiveProperties properties;
+    private final TenancyProperties tenancyProperties;
+    private final MeterRegistry meterRegistry;
+    private final TenantTags tenantTags;
+
+    @Scheduled(initialDelayString = "${app.archive.interval:PT1H}", fixedDelayString = "${app.archive.interval:PT1H}")
+    public void run() {
+        if (properties.enabled()) {
+            archive();
+        }
+    }
+
+    /**
+     * @return the tasks archived per tenant, tenants with none left out
+     */
+    public synchronized Map<String, Long> archive() {
+        final Set<String> tenants = new TreeSet<>();
+        try (TenantContext.Scope ignored = TenantContext.open(null)) {
+            tenants.addAll(taskRepository.findTenantsWithStatus(TaskStatus.DONE.name()));
+        }
+        // Their tasks are not in the shared tables, each is looked at in its own schema or database
+        tenants.addAll(tenancyProperties.isolated().keySet());
+
+        final Map<String, Long> archived = new LinkedHashMap<>();
+        for (final String tenant : tenants) {
+            try {
+                final long moved = archive(tenant);
+                if (moved > 0) {
+                    archived.put(tenant, moved);
+                }
+            } catch (RuntimeException e) {
+                // The next run resumes where this one stopped, batches already moved stay moved
+                log.warn("Could not archive the tasks of tenant {}", tenant, e);
+            }
+            if (Thread.currentThread().isInterrupted()) {
+                break;
+            }
+        }
+        log.info("Archived {} tasks: {}", archived.values().stream().mapToLong(Long::longValue).sum(), archived);
+        return archived;
+    }
+
+    private long archive(final String tenant) {
+        final Instant doneBefore = Instant.now().minus(properties.after(tenant));
+        long total = 0;
+        try (TenantContext.Scope ignored = TenantContext.open(tenant)) {
+            int moved;
+            do {
+                moved = taskService.archive(doneBefore, properties.batchSize());
+                total += moved;
+                meterRegistry.counter("tasks.archived", TenantTags.TAG, tenantTags.of(tenant)).increment(moved);
+            } while (moved == properties.batchSize() && pause());
+        }
+        return total;
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(properties.pause());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
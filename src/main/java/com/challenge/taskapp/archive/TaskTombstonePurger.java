@@ -0,0 +1,70 @@
+package com.challenge.taskapp.archive;
+
+import com.challenge.taskapp.repository.TaskTombstoneRepository;
+import com.challenge.taskapp.tenant.TenancyProperties;
+import com.challenge.taskapp.tenant.TenantContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Removes the tombstones older than {@code app.changes.retention} every {@code app.changes.purge-interval}, so
+ * TASK_TOMBSTONES only grows with the deletes of the retention window. The change feed refuses cursors older than that
+ * window, as the deletes they would still have to report may be gone.
+ */
+@Slf4j
+@Component
+public class TaskTombstonePurger {
+
+    private final TaskTombstoneRepository taskTombstoneRepository;
+    private final TenancyProperties tenancyProperties;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration retention;
+
+    public TaskTombstonePurger(final TaskTombstoneRepository taskTombstoneRepository,
+                               final TenancyProperties tenancyProperties,
+                               final PlatformTransactionManager transactionManager,
+                               @Value("${app.changes.retention:P30D}") final Duration retention) {
+        this.taskTombstoneRepository = taskTombstoneRepository;
+        this.tenancyProperties = tenancyProperties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.retention = retention;
+    }
+
+    @Scheduled(initialDelayString = "${app.changes.purge-interval:PT1H}", fixedDelayString = "${app.changes.purge-interval:PT1H}")
+    public void run() {
+        purge(Instant.now().minus(retention));
+    }
+
+    /**
+     * @return the tombstones removed, shared and isolated tenants together
+     */
+    public synchronized int purge(final Instant deletedBefore) {
+        final Timestamp before = Timestamp.from(deletedBefore);
+        // One statement for every tenant of the shared tables, then one per isolated tenant in its schema or database
+        int purged = purge(null, before);
+        for (final String tenant : tenancyProperties.isolated().keySet()) {
+            purged += purge(tenant, before);
+        }
+        log.info("Purged {} task tombstones deleted before {}", purged, deletedBefore);
+        return purged;
+    }
+
+    private int purge(final String tenant, final Timestamp before) {
+        try (TenantContext.Scope ignored = TenantContext.open(tenant)) {
+            final Integer purged = transactionTemplate.execute(tx -> taskTombstoneRepository.deleteDeletedBefore(before));
+            return purged == null ? 0 : purged;
+        } catch (RuntimeException e) {
+            // The next run catches up, tombstones only ever get older
+            log.warn("Could not purge the task tombstones of tenant {}", tenant, e);
+            return 0;
+        }
+    }
+}
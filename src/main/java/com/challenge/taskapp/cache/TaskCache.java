@@ -0,0 +1,154 @@
+package com.challenge.taskapp.cache;
+
+import com.challenge.taskapp.dto.TaskResponse;
+import com.challenge.taskapp.tenant.TenantIdentifierResolver;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Bounded in-process cache for task reads. Every key carries the tenant resolved by {@link TenantIdentifierResolver},
+ * so a tenant can never be served another tenant's entry.
+ * <p>
+ * Single tasks are evicted by id. List results are keyed by a per-tenant list version instead: any write bumps the
+ * version of its tenant, which makes all of that tenant's cached lists unreachable at once (they then age out) while
+ * other tenants keep theirs. Versions come from a global sequence, so a tenant whose version expired never reuses an
+ * old one.
+ * <p>
+ * With a read replica, reads may lag writes by up to {@code app.datasource.replica.max-lag}. For that long after a
+ * write, a tenant's cache is still read but no longer filled, so a read of the replica's older state is served once
+ * instead of being cached for the TTL.
+ */
+@Component
+public class TaskCache {
+
+    private final TenantIdentifierResolver tenantIdentifierResolver;
+    private final Cache<TaskKey, TaskResponse> tasks;
+    private final Cache<ListKey, Object> lists;
+    private final Cache<String, Long> listVersions;
+    // Tenants written within the replica lag, null without replica
+    private final Cache<String, Boolean> recentWrites;
+    // Random start, so versions (and the list ETags built from them) of different instances do not collide
+    private final AtomicLong versionSequence = new AtomicLong(ThreadLocalRandom.current().nextLong() >>> 1);
+
+    public TaskCache(final TenantIdentifierResolver tenantIdentifierResolver,
+                     final MeterRegistry meterRegistry,
+                     @Value("${app.cache.tasks.maximum-size:10000}") final long tasksMaximumSize,
+                     @Value("${app.cache.tasks.ttl:PT5M}") final Duration tasksTtl,
+                     @Value("${app.cache.lists.maximum-size:1000}") final long listsMaximumSize,
+                     @Value("${app.cache.lists.ttl:PT30S}") final Duration listsTtl,
+                     @Value("${app.datasource.replica.url:}") final String replicaUrl,
+                     @Value("${app.datasource.replica.max-lag:PT5S}") final Duration replicaMaxLag) {
+        this.tenantIdentifierResolver = tenantIdentifierResolver;
+        this.tasks = Caffeine.newBuilder()
+                .maximumSize(tasksMaximumSize)
+                .expireAfterWrite(tasksTtl)
+                .recordStats()
+                .build();
+        this.lists = Caffeine.newBuilder()
+                .maximumSize(listsMaximumSize)
+                .expireAfterWrite(listsTtl)
+                .recordStats()
+                .build();
+        // A version lives as long as the lists it keys, so neither a cached list nor a list ETag built from the version
+        // outlives the list TTL, even when another instance wrote the change
+        this.listVersions = Caffeine.newBuilder()
+                .maximumSize(listsMaximumSize)
+                .expireAfterWrite(listsTtl)
+                .build();
+        this.recentWrites = replicaUrl.isEmpty() ? null : Caffeine.newBuilder()
+                .expireAfterWrite(replicaMaxLag)
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, tasks, "tasks");
+        CaffeineCacheMetrics.monitor(meterRegistry, lists, "taskLists");
+    }
+
+    /**
+     * Cached task, or the one returned by the loader. The load runs as an atomic compute of the entry, which an eviction
+     * of the same task waits for and then removes: a load that read the task before a write committed cannot leave the
+     * old state in the cache.
+     */
+    public TaskResponse getTask(final UUID id, final Supplier<TaskResponse> loader) {
+        final String tenant = tenant();
+        final TaskKey key = new TaskKey(tenant, id);
+        if (recentlyWritten(tenant)) {
+            final TaskResponse cached = tasks.getIfPresent(key);
+            return cached != null ? cached : loader.get();
+        }
+        return tasks.get(key, ignored -> loader.get());
+    }
+
+    /**
+     * Evicts the given tasks and every list of the current tenant. When called inside a transaction the eviction is
+     * repeated after commit, which also drops what a read racing with the write loaded before the commit.
+     */
+    public void evict(final Collection<UUID> ids) {
+        final String tenant = tenant();
+        final Runnable eviction = () -> {
+            ids.forEach(id -> tasks.invalidate(new TaskKey(tenant, id)));
+            listVersions.put(tenant, versionSequence.incrementAndGet());
+            if (recentWrites != null) {
+                recentWrites.put(tenant, Boolean.TRUE);
+            }
+        };
+        eviction.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                }
+            });
+        }
+    }
+
+    /**
+     * Cached list, or the one returned by the loader. The key takes the list version from before the load, so a list
+     * read while a write commits is stored under the version that write replaces and is never served.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getList(final Object query, final Supplier<T> loader) {
+        final ListKey key = listKey(query);
+        if (recentlyWritten(key.tenant())) {
+            final Object cached = lists.getIfPresent(key);
+            return cached != null ? (T) cached : loader.get();
+        }
+        return (T) lists.get(key, ignored -> loader.get());
+    }
+
+    /**
+     * Current list version of the tenant, changes on every write to any of its tasks.
+     */
+    public long listVersion() {
+        return listVersions.get(tenant(), tenant -> versionSequence.incrementAndGet());
+    }
+
+    private boolean recentlyWritten(final String tenant) {
+        return recentWrites != null && recentWrites.getIfPresent(tenant) != null;
+    }
+
+    private ListKey listKey(final Object query) {
+        return new ListKey(tenant(), listVersion(), query);
+    }
+
+    private String tenant() {
+        return tenantIdentifierResolver.resolveCurrentTenantIdentifier();
+    }
+
+    private record TaskKey(String tenant, UUID id) { }
+
+    private record ListKey(String tenant, long version, Object query) { }
+}
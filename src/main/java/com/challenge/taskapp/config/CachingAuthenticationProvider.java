@@ -0,0 +1,107 @@
+package com.challenge.taskapp.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.security.authentication.AccountStatusUserDetailsChecker;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsChecker;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+
+/**
+ * Remembers recently verified Basic credentials so the slow password encoder (BCrypt) only runs once per user and TTL
+ * instead of on every request.
+ * <p>
+ * Entries never hold the password: they keep an HMAC of it under a random key that only lives in this process, and
+ * the stored password hash it was verified against. A presented password is accepted from the cache only if its HMAC
+ * matches in constant time and the user's current stored hash is still the same one, so a password change (or a
+ * removed or disabled user) takes effect immediately. Anything else goes to the delegate, which keeps its own
+ * protections against user enumeration timing.
+ */
+class CachingAuthenticationProvider implements AuthenticationProvider {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final int KEY_BYTES = 32;
+
+    private final AuthenticationProvider delegate;
+    private final UserDetailsService userDetailsService;
+    private final UserDetailsChecker userDetailsChecker = new AccountStatusUserDetailsChecker();
+    private final Cache<String, VerifiedCredential> verified;
+    private final SecretKeySpec key;
+
+    CachingAuthenticationProvider(final AuthenticationProvider delegate, final UserDetailsService userDetailsService,
+                                  final long maximumSize, final Duration ttl) {
+        this.delegate = delegate;
+        this.userDetailsService = userDetailsService;
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .build();
+
+        final byte[] secret = new byte[KEY_BYTES];
+        new SecureRandom().nextBytes(secret);
+        this.key = new SecretKeySpec(secret, HMAC_ALGORITHM);
+    }
+
+    @Override
+    public Authentication authenticate(final Authentication authentication) throws AuthenticationException {
+        final String username = authentication.getName();
+        final Object credentials = authentication.getCredentials();
+        final VerifiedCredential cached = verified.getIfPresent(username);
+
+        if (cached != null && credentials != null) {
+            final UserDetails user = loadUser(username);
+            if (user == null || !cached.passwordHash().equals(user.getPassword())) {
+                verified.invalidate(username);
+            } else if (MessageDigest.isEqual(cached.digest(), digest(credentials.toString()))) {
+                userDetailsChecker.check(user);
+                return UsernamePasswordAuthenticationToken.authenticated(user, null, user.getAuthorities());
+            }
+            // A wrong password keeps the entry: anyone knowing the username could otherwise keep it out of the cache
+        }
+
+        final Authentication result = delegate.authenticate(authentication);
+        if (result != null && result.isAuthenticated() && credentials != null
+                && result.getPrincipal() instanceof UserDetails user && user.getPassword() != null) {
+            verified.put(username, new VerifiedCredential(digest(credentials.toString()), user.getPassword()));
+        }
+        return result;
+    }
+
+    @Override
+    public boolean supports(final Class<?> authentication) {
+        return delegate.supports(authentication);
+    }
+
+    private UserDetails loadUser(final String username) {
+        try {
+            return userDetailsService.loadUserByUsername(username);
+        } catch (UsernameNotFoundException e) {
+            return null;
+        }
+    }
+
+    private byte[] digest(final String password) {
+        try {
+            final Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(password.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC not available", e);
+        }
+    }
+
+    private record VerifiedCredential(byte[] digest, String passwordHash) { }
+}
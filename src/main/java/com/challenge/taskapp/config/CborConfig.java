@@ -0,0 +1,59 @@
+package com.challenge.taskapp.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * CBOR (RFC 8949, {@code application/cbor}) next to JSON: a client sending {@code Accept: application/cbor} gets the
+ * same documents in binary, and may send request bodies as {@code Content-Type: application/cbor}. JSON stays the
+ * default.
+ * <p>
+ * The mapper is the JSON one (same modules, property names and null handling) on a CBOR factory, with two encodings
+ * that only pay off in binary: UUIDs as 16-byte strings and timestamps as epoch milliseconds.
+ * <p>
+ * Since the body depends on the Accept header, every response says so with {@code Vary: Accept}, and the ETags
+ * differ per format (see {@code TaskETags}).
+ */
+@Configuration
+public class CborConfig implements WebMvcConfigurer {
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(final Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(cborObjectMapper(builder));
+    }
+
+    /**
+     * UUIDs need no setting: Jackson writes them as binary to any format that supports it.
+     */
+    public static ObjectMapper cborObjectMapper(final Jackson2ObjectMapperBuilder builder) {
+        return builder.factory(new CBORFactory())
+                .featuresToEnable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+    }
+
+    /**
+     * Vary is added before the handler runs, so 304 and error responses carry it too.
+     */
+    @Override
+    public void addInterceptors(final InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(final HttpServletRequest request, final HttpServletResponse response,
+                                     final Object handler) {
+                response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+                return true;
+            }
+        });
+    }
+}
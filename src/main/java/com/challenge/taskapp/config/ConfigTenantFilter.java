@@ -21,13 +21,10 @@ class ConfigTenantFilter implements Filter {
                          final FilterChain chain) throws IOException, ServletException {
 
         final HttpServletRequest req = (HttpServletRequest) request;
-        final String tenantName = req.getHeader("X-TenantID");
-        TenantContext.setCurrentTenant(tenantName);
+        final String tenantName = req.getHeader(TenantContext.HEADER);
 
-        try {
+        try (TenantContext.Scope ignored = TenantContext.open(tenantName)) {
             chain.doFilter(request, response);
-        } finally {
-            TenantContext.setCurrentTenant(null);
         }
     }
 }
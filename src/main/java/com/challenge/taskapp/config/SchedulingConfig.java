@@ -0,0 +1,12 @@
+package com.challenge.taskapp.config;
+
+import com.challenge.taskapp.archive.ArchiveProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(ArchiveProperties.class)
+public class SchedulingConfig {
+}
@@ -1,8 +1,13 @@
 package com.challenge.taskapp.config;
 
+import com.challenge.taskapp.quota.TenantQuotaProperties;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
@@ -13,13 +18,18 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.AuthorizationFilter;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import java.time.Duration;
+
 @Configuration
 @EnableWebSecurity
+@EnableConfigurationProperties(TenantQuotaProperties.class)
 public class SecurityConfig {
 
     private final ConfigTenantFilter configTenantFilter;
+    private final TenantQuotaFilter tenantQuotaFilter;
 
     @Value("${app.security.username}")
     private String username;
@@ -27,8 +37,18 @@ public class SecurityConfig {
     @Value("${app.security.password}")
     private String password;
 
-    public SecurityConfig(final ConfigTenantFilter tenantFilter) {
+    @Value("${app.security.credential-cache.enabled:true}")
+    private boolean credentialCacheEnabled;
+
+    @Value("${app.security.credential-cache.maximum-size:1000}")
+    private long credentialCacheMaximumSize;
+
+    @Value("${app.security.credential-cache.ttl:PT5M}")
+    private Duration credentialCacheTtl;
+
+    public SecurityConfig(final ConfigTenantFilter tenantFilter, final TenantQuotaFilter tenantQuotaFilter) {
         this.configTenantFilter = tenantFilter;
+        this.tenantQuotaFilter = tenantQuotaFilter;
     }
 
     @Bean
@@ -37,9 +57,12 @@ public class SecurityConfig {
             .csrf(AbstractHttpConfigurer::disable)
             .httpBasic(httpBasic -> { })
             .addFilterBefore(configTenantFilter, UsernamePasswordAuthenticationFilter.class)
+            // After authorization, so only requests that passed authentication are charged to the tenant
+            .addFilterAfter(tenantQuotaFilter, AuthorizationFilter.class)
             .authorizeHttpRequests(auth -> auth
+                // Health checks and Prometheus scrapes carry no credentials
+                .requestMatchers(EndpointRequest.to("health", "prometheus")).permitAll()
                 .anyRequest().authenticated()
-                // TODO: Allow access to healthcheck endpoint
             );
 
         return http.build();
@@ -55,6 +78,17 @@ public class SecurityConfig {
         return new InMemoryUserDetailsManager(user);
     }
 
+    @Bean
+    public AuthenticationProvider authenticationProvider(final UserDetailsService userDetailsService,
+                                                         final PasswordEncoder passwordEncoder) {
+        final DaoAuthenticationProvider daoProvider = new DaoAuthenticationProvider(userDetailsService);
+        daoProvider.setPasswordEncoder(passwordEncoder);
+        if (!credentialCacheEnabled) {
+            return daoProvider;
+        }
+        return new CachingAuthenticationProvider(daoProvider, userDetailsService, credentialCacheMaximumSize, credentialCacheTtl);
+    }
+
     @Bean
     public PasswordEncoder passwordEncoder() {
         return new BCryptPasswordEncoder();
@@ -0,0 +1,49 @@
+package com.challenge.taskapp.config;
+
+import com.challenge.taskapp.tenant.TenancyProperties;
+import com.challenge.taskapp.tenant.TenantConnectionProvider;
+import com.challenge.taskapp.tenant.TenantMigrator;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Isolated tenants: when {@code app.tenancy.tenants} places at least one tenant in its own schema or database,
+ * Hibernate takes its connections from the {@link TenantConnectionProvider}. Otherwise every tenant stays in the
+ * shared tables and Hibernate uses the data source directly.
+ * <p>
+ * Started with {@code app.tenancy.migrate=<tenant>}, the application moves the tenant's rows to its placement and
+ * exits instead of serving requests.
+ */
+@Configuration
+@EnableConfigurationProperties(TenancyProperties.class)
+public class TenancyConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer tenantConnectionProviderCustomizer(final TenancyProperties properties,
+                                                                            final TenantConnectionProvider connectionProvider) {
+        return hibernateProperties -> {
+            if (!properties.isolated().isEmpty()) {
+                hibernateProperties.put(AvailableSettings.MULTI_TENANT_CONNECTION_PROVIDER, connectionProvider);
+            }
+        };
+    }
+
+    @Bean
+    @ConditionalOnProperty("app.tenancy.migrate")
+    public ApplicationRunner tenantMigrationRunner(final TenantMigrator tenantMigrator,
+                                                   final ApplicationContext context,
+                                                   @Value("${app.tenancy.migrate}") final String tenant) {
+        return args -> {
+            tenantMigrator.migrate(tenant);
+            System.exit(SpringApplication.exit(context));
+        };
+    }
+}
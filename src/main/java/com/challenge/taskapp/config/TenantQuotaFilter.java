@@ -0,0 +1,89 @@
+package com.challenge.taskapp.config;
+
+import com.challenge.taskapp.dto.CustomErrorResponse;
+import com.challenge.taskapp.metrics.TenantTags;
+import com.challenge.taskapp.quota.TenantQuotaProperties;
+import com.challenge.taskapp.quota.TenantQuotas;
+import com.challenge.taskapp.tenant.TenantIdentifierResolver;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Enforces the tenant's quotas, see {@link TenantQuotaProperties}: a token bucket for the request rate and a cap on
+ * concurrent requests. A request over either gets 429 with {@code Retry-After} and is counted in
+ * {@code tasks.throttled} by tenant and reason. Runs after authentication and authorization: the tenant comes from a
+ * header any caller can set, so an unauthenticated request must not use up the quota of the tenant it names. Actuator
+ * endpoints are never throttled.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+class TenantQuotaFilter extends OncePerRequestFilter {
+
+    private static final RequestMatcher ACTUATOR = EndpointRequest.toAnyEndpoint();
+
+    private final TenantQuotaProperties properties;
+    private final TenantQuotas tenantQuotas;
+    private final TenantIdentifierResolver tenantIdentifierResolver;
+    private final TenantTags tenantTags;
+    private final MeterRegistry meterRegistry;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    protected boolean shouldNotFilter(final HttpServletRequest request) {
+        return !properties.enabled() || ACTUATOR.matches(request);
+    }
+
+    @Override
+    protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response,
+                                    final FilterChain chain) throws ServletException, IOException {
+        final String tenant = tenantIdentifierResolver.resolveCurrentTenantIdentifier();
+        final TenantQuotas.Quota quota = tenantQuotas.of(tenant);
+
+        final long waitNanos = quota.tryAcquireRate();
+        if (waitNanos > 0) {
+            reject(request, response, tenant, "rate", TimeUnit.NANOSECONDS.toSeconds(waitNanos) + 1);
+            return;
+        }
+        if (!quota.tryAcquireSlot()) {
+            // No way to tell when a slot frees up, requests are typically short
+            reject(request, response, tenant, "concurrency", 1);
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            quota.release();
+        }
+    }
+
+    private void reject(final HttpServletRequest request, final HttpServletResponse response, final String tenant,
+                        final String reason, final long retryAfterSeconds) throws IOException {
+        log.debug("Throttling request of tenant {} over its {} quota", tenant, reason);
+        meterRegistry.counter("tasks.throttled", TenantTags.TAG, tenantTags.of(tenant), "reason", reason).increment();
+
+        final CustomErrorResponse errorResponse = new CustomErrorResponse(HttpStatus.TOO_MANY_REQUESTS,
+                "Too many requests for tenant, retry later", new ServletWebRequest(request));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), errorResponse);
+    }
+}
@@ -1,25 +1,52 @@
 package com.challenge.taskapp.controller;
 
 import com.challenge.taskapp.dto.AddTaskRequest;
+import com.challenge.taskapp.dto.BatchCreateTasksRequest;
+import com.challenge.taskapp.dto.BatchTasksResponse;
+import com.challenge.taskapp.dto.BatchUpdateTasksRequest;
+import com.challenge.taskapp.dto.DeleteTasksRequest;
+import com.challenge.taskapp.dto.DeleteTasksResponse;
+import com.challenge.taskapp.dto.TaskAcceptedResponse;
+import com.challenge.taskapp.dto.TaskChangesResponse;
+import com.challenge.taskapp.dto.TaskCursor;
+import com.challenge.taskapp.dto.TaskPageResponse;
 import com.challenge.taskapp.dto.TaskResponse;
+import com.challenge.taskapp.dto.TaskStatsResponse;
 import com.challenge.taskapp.dto.UpdateTaskRequest;
+import com.challenge.taskapp.dto.UpdateTaskStatusRequest;
 import com.challenge.taskapp.enums.TaskStatus;
+import com.challenge.taskapp.ingest.TaskIngestQueue;
 import com.challenge.taskapp.service.TaskService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Instant;
 import java.util.UUID;
 
 @RestController
@@ -27,21 +54,119 @@ import java.util.UUID;
 @AllArgsConstructor
 public class TaskController {
 
+    private static final int MAX_SLICE_SIZE = 1000;
+    private static final int MAX_SEARCH_PAGE = 1000;
+
     private final TaskService taskService;
+    private final TaskIngestQueue taskIngestQueue;
+    private final ObjectMapper objectMapper;
 
+    /**
+     * Lists carry an ETag derived from the list version of the tenant and the query, so a matching
+     * {@code If-None-Match} is answered with 304 without reading the tasks. Archived tasks are only listed with
+     * {@code includeArchived=true}. With {@code withTotal=false} the count query is skipped and {@code total} is null.
+     */
     @GetMapping
-    public Page<TaskResponse> getAll(
+    public TaskPageResponse getAll(
             @PageableDefault(size = 20, sort = "createdAt") Pageable pageable,
-            @RequestParam(required = false) TaskStatus status) {
+            @RequestParam(required = false) TaskStatus status,
+            @RequestParam(defaultValue = "false") final boolean includeArchived,
+            @RequestParam(defaultValue = "true") final boolean withTotal,
+            final ServletWebRequest request) {
+        if (isListNotModified(request)) {
+            return null;
+        }
         if (status != null) {
-            return taskService.getAllByStatus(status, pageable);
+            return taskService.getAllByStatus(status, pageable, includeArchived, withTotal);
+        }
+        return taskService.getAllPaged(pageable, includeArchived, withTotal);
+    }
+
+    /**
+     * Keyset pagination, selected when the {@code after} parameter is present. Send it empty for the first page and
+     * then pass back the {@code nextCursor} of each response. Results are always ordered by creation date.
+     */
+    @GetMapping(params = "after")
+    public TaskPageResponse getAllAfter(
+            @RequestParam(required = false) final String after,
+            @RequestParam(defaultValue = "20") final int size,
+            @RequestParam(required = false) final TaskStatus status,
+            @RequestParam(defaultValue = "false") final boolean includeArchived,
+            final ServletWebRequest request) {
+        if (isListNotModified(request)) {
+            return null;
+        }
+        return taskService.getAllAfter(TaskCursor.decode(after), status, Math.clamp(size, 1, MAX_SLICE_SIZE),
+                includeArchived);
+    }
+
+    /**
+     * Streams every task of the tenant as newline-delimited JSON, written as it is read from the database cursor.
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void export(
+            @RequestParam(required = false) final TaskStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final Instant updatedSince,
+            final HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        final ObjectWriter writer = objectMapper.writerFor(TaskResponse.class);
+        final OutputStream output = response.getOutputStream();
+        try {
+            taskService.export(status, updatedSince, task -> {
+                try {
+                    output.write(writer.writeValueAsBytes(task));
+                    output.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
         }
-        return taskService.getAllPaged(pageable);
+        output.flush();
+    }
+
+    /**
+     * Creates, updates and deletes of the tenant's tasks in change order. Start with {@code since} (or from the
+     * beginning) and then poll with the {@code nextCursor} of the previous response. A cursor older than the tombstone
+     * retention is refused.
+     */
+    @GetMapping("/changes")
+    public TaskChangesResponse getChanges(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final Instant since,
+            @RequestParam(required = false) final String cursor,
+            @RequestParam(defaultValue = "100") final int size) {
+        return taskService.getChanges(TaskCursor.decode(cursor), since, Math.clamp(size, 1, MAX_SLICE_SIZE));
+    }
+
+    /**
+     * Full-text search over title and description, best match first. Paginated by page number, without total count,
+     * relevance ranking gets useless long before {@code MAX_SEARCH_PAGE}.
+     */
+    @GetMapping("/search")
+    public TaskPageResponse search(
+            @RequestParam(required = false) final String q,
+            @RequestParam(defaultValue = "0") final int page,
+            @RequestParam(defaultValue = "20") final int size) {
+        return taskService.search(q, Math.clamp(page, 0, MAX_SEARCH_PAGE), Math.clamp(size, 1, MAX_SLICE_SIZE));
+    }
+
+    /**
+     * Task counts per status, read from counters rather than counted, so it may lag writes by a few seconds.
+     */
+    @GetMapping("/stats")
+    public TaskStatsResponse getStats() {
+        return taskService.getStats();
     }
 
     @GetMapping("/{id}")
-    public TaskResponse findById(@PathVariable final UUID id) {
-        return taskService.find(id);
+    public TaskResponse findById(@PathVariable final UUID id, final WebRequest request) {
+        final TaskResponse task = taskService.find(id);
+        final String etag = TaskETags.of(task, request.getHeader(HttpHeaders.ACCEPT));
+        if (request.checkNotModified(etag, task.updatedAt().getTime())) {
+            return null;
+        }
+        return task;
     }
 
     @PostMapping
@@ -49,13 +174,72 @@ public class TaskController {
         return taskService.create(newTaskRequest);
     }
 
+    /**
+     * Validates and queues the task, it is inserted in a batch shortly after. Answers 202 with the id the task will
+     * have, or 429 with {@code Retry-After} when the queue is full.
+     */
+    @PostMapping(params = "async=true")
+    public ResponseEntity<TaskAcceptedResponse> createAsync(@RequestBody @Valid final AddTaskRequest newTaskRequest) {
+        final UUID id = taskIngestQueue.submit(newTaskRequest);
+        return ResponseEntity.accepted()
+                .location(ServletUriComponentsBuilder.fromCurrentRequestUri().path("/{id}").buildAndExpand(id).toUri())
+                .body(new TaskAcceptedResponse(id));
+    }
+
+    /**
+     * Creates up to {@link BatchCreateTasksRequest#MAX_ITEMS} tasks in one transaction. Invalid items are reported
+     * per item unless {@code atomic} is set, in which case any failure rejects the whole batch.
+     */
+    @PostMapping("/batch")
+    public BatchTasksResponse createAll(@RequestBody @Valid final BatchCreateTasksRequest batchRequest,
+                                        @RequestParam(defaultValue = "false") final boolean atomic) {
+        return taskService.createAll(batchRequest.items(), atomic);
+    }
+
+    /**
+     * With an {@code If-Match} header the update only applies while the task still has that ETag, otherwise 412.
+     */
     @PutMapping("/{id}")
-    public TaskResponse update(@PathVariable final UUID id, @RequestBody @Valid final UpdateTaskRequest updateTaskRequest) {
-        return taskService.update(id, updateTaskRequest);
+    public ResponseEntity<TaskResponse> update(@PathVariable final UUID id,
+                                               @RequestBody @Valid final UpdateTaskRequest updateTaskRequest,
+                                               @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) final String ifMatch,
+                                               @RequestHeader(value = HttpHeaders.ACCEPT, required = false) final String accept) {
+        final TaskResponse task = taskService.update(id, updateTaskRequest, TaskETags.expectedVersionTag(ifMatch, id));
+        return ResponseEntity.ok().eTag(TaskETags.of(task, accept)).body(task);
+    }
+
+    /**
+     * Status transition as a single conditional UPDATE, without reading the task first.
+     */
+    @PatchMapping("/{id}/status")
+    public void updateStatus(@PathVariable final UUID id, @RequestBody @Valid final UpdateTaskStatusRequest updateStatusRequest) {
+        taskService.updateStatus(id, updateStatusRequest.status());
+    }
+
+    /**
+     * Updates up to {@link BatchCreateTasksRequest#MAX_ITEMS} tasks in one transaction, with the same per item
+     * reporting and {@code atomic} flag as {@link #createAll}.
+     */
+    @PutMapping("/batch")
+    public BatchTasksResponse updateAll(@RequestBody @Valid final BatchUpdateTasksRequest batchRequest,
+                                        @RequestParam(defaultValue = "false") final boolean atomic) {
+        return taskService.updateAll(batchRequest.items(), atomic);
     }
 
     @DeleteMapping("/{id}")
-    public void deleteById(@PathVariable final UUID id) {
-        taskService.delete(id);
+    public void deleteById(@PathVariable final UUID id,
+                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) final String ifMatch) {
+        taskService.delete(id, TaskETags.expectedVersionTag(ifMatch, id));
+    }
+
+    @DeleteMapping
+    public DeleteTasksResponse deleteAll(@RequestBody @Valid final DeleteTasksRequest deleteTasksRequest) {
+        return taskService.deleteAll(deleteTasksRequest.ids());
+    }
+
+    private boolean isListNotModified(final ServletWebRequest request) {
+        final String etag = TaskETags.ofList(taskService.getListVersion(), request.getRequest().getQueryString(),
+                request.getHeader(HttpHeaders.ACCEPT));
+        return request.checkNotModified(etag);
     }
 }
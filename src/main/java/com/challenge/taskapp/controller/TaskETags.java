@@ -0,0 +1,127 @@
+package com.challenge.taskapp.controller;
+
+import com.challenge.taskapp.dto.TaskResponse;
+import com.challenge.taskapp.model.TaskVersionTag;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.util.MimeTypeUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Builds and reads the entity tags of {@link TaskController}. They are computed from metadata only (id and version
+ * tag of a task, list version of the tenant), never from the serialized body.
+ * <p>
+ * The JSON and CBOR representations of a resource are different bytes, so CBOR tags carry a {@code -cbor} suffix and
+ * a tag cached for one format never validates the other. If-Match ignores the suffix: it guards the task, whichever
+ * format the tag was read in.
+ */
+final class TaskETags {
+
+    private static final String SEPARATOR = "-";
+    private static final String ANY = "*";
+    private static final String CBOR_SUFFIX = SEPARATOR + "cbor";
+
+    private TaskETags() {
+    }
+
+    static String of(final TaskResponse task, final String accept) {
+        return quote(task.id() + SEPARATOR + TaskVersionTag.of(task.version()) + formatSuffix(accept));
+    }
+
+    /**
+     * The query is part of the tag as a SHA-256 of its normalized form, so two different queries never share a tag
+     * (and a 304) the way two 32-bit hashes could.
+     */
+    static String ofList(final long listVersion, final String queryString, final String accept) {
+        return quote("L" + Long.toHexString(listVersion) + SEPARATOR + queryDigest(queryString) + formatSuffix(accept));
+    }
+
+    /**
+     * Version tag of task {@code id} expected by an If-Match header, or null when there is no precondition.
+     * A header that names another resource can never match and yields a tag no task has.
+     */
+    static String expectedVersionTag(final String ifMatch, final UUID id) {
+        if (ifMatch == null || ifMatch.isBlank() || ANY.equals(ifMatch.trim())) {
+            return null;
+        }
+        final String prefix = id + SEPARATOR;
+        for (final String candidate : ifMatch.split(",")) {
+            final String tag = unquote(candidate.trim());
+            // If-Match uses strong comparison, weak tags never match
+            if (!candidate.trim().startsWith("W/") && tag.startsWith(prefix)) {
+                final String versionTag = tag.substring(prefix.length());
+                return versionTag.endsWith(CBOR_SUFFIX)
+                        ? versionTag.substring(0, versionTag.length() - CBOR_SUFFIX.length())
+                        : versionTag;
+            }
+        }
+        return "";
+    }
+
+    /**
+     * Parameters sorted by name, the values of a repeated parameter (e.g. {@code sort}) keeping their order since it
+     * changes the result.
+     */
+    private static String queryDigest(final String queryString) {
+        final String normalized = queryString == null || queryString.isEmpty() ? ""
+                : Arrays.stream(queryString.split("&"))
+                        .filter(parameter -> !parameter.isEmpty())
+                        .sorted(Comparator.comparing(parameter -> parameter.split("=", 2)[0]))
+                        .collect(Collectors.joining("&"));
+        try {
+            final byte[] digest = MessageDigest.getInstance("SHA-256").digest(normalized.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Suffix of the format the response will be written in for this Accept header, picked like the message
+     * converters do: the most specific acceptable type wins and JSON, registered first, wins ties.
+     */
+    private static String formatSuffix(final String accept) {
+        if (accept == null || accept.isBlank()) {
+            return "";
+        }
+        final List<MediaType> acceptable;
+        try {
+            acceptable = MediaType.parseMediaTypes(accept);
+        } catch (final InvalidMediaTypeException e) {
+            return "";
+        }
+        MimeTypeUtils.sortBySpecificity(acceptable);
+        for (final MediaType type : acceptable) {
+            if (type.getQualityValue() == 0) {
+                continue;
+            }
+            if (type.includes(MediaType.APPLICATION_JSON)) {
+                return "";
+            }
+            if (type.includes(MediaType.APPLICATION_CBOR)) {
+                return CBOR_SUFFIX;
+            }
+        }
+        return "";
+    }
+
+    private static String quote(final String tag) {
+        return "\"" + tag + "\"";
+    }
+
+    private static String unquote(final String tag) {
+        if (tag.length() >= 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            return tag.substring(1, tag.length() - 1);
+        }
+        return tag;
+    }
+}
@@ -0,0 +1,18 @@
+package com.challenge.taskapp.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * Items are validated one by one by the service, so an invalid item is reported in its result instead of rejecting the
+ * whole request.
+ */
+public record BatchCreateTasksRequest(
+        @NotEmpty(message = "items cannot be empty")
+        @Size(max = BatchCreateTasksRequest.MAX_ITEMS, message = "at most 500 items can be sent at once")
+        List<AddTaskRequest> items) {
+
+    public static final int MAX_ITEMS = 500;
+}
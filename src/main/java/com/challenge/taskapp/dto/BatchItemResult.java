@@ -0,0 +1,19 @@
+package com.challenge.taskapp.dto;
+
+import com.challenge.taskapp.enums.BatchItemStatus;
+
+import java.util.UUID;
+
+/**
+ * Outcome of one item of a batch, {@code index} being its position in the request.
+ */
+public record BatchItemResult(int index, UUID id, BatchItemStatus status, TaskResponse task, String error) {
+
+    public static BatchItemResult success(final int index, final BatchItemStatus status, final TaskResponse task) {
+        return new BatchItemResult(index, task.id(), status, task, null);
+    }
+
+    public static BatchItemResult failure(final int index, final UUID id, final String error) {
+        return new BatchItemResult(index, id, BatchItemStatus.FAILED, null, error);
+    }
+}
@@ -0,0 +1,15 @@
+package com.challenge.taskapp.dto;
+
+import com.challenge.taskapp.enums.BatchItemStatus;
+
+import java.util.List;
+
+public record BatchTasksResponse(int succeeded, int failed, List<BatchItemResult> results) {
+
+    public BatchTasksResponse(final List<BatchItemResult> results) {
+        this(
+            (int) results.stream().filter(result -> result.status() != BatchItemStatus.FAILED).count(),
+            (int) results.stream().filter(result -> result.status() == BatchItemStatus.FAILED).count(),
+            results);
+    }
+}
@@ -0,0 +1,13 @@
+package com.challenge.taskapp.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+import java.util.UUID;
+
+public record DeleteTasksRequest(
+        @NotEmpty(message = "ids cannot be empty")
+        @Size(max = 500, message = "at most 500 ids can be deleted at once")
+        List<@NotNull(message = "ids cannot contain null") UUID> ids) { }
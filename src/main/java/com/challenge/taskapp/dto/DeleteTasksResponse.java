@@ -0,0 +1,6 @@
+package com.challenge.taskapp.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+public record DeleteTasksResponse(List<UUID> deleted, List<UUID> notFound) { }
@@ -0,0 +1,8 @@
+package com.challenge.taskapp.dto;
+
+import java.util.UUID;
+
+/**
+ * Answer of an asynchronous creation: the id the task will have once inserted.
+ */
+public record TaskAcceptedResponse(UUID id) { }
@@ -0,0 +1,11 @@
+package com.challenge.taskapp.dto;
+
+import com.challenge.taskapp.enums.TaskChangeType;
+
+import java.sql.Timestamp;
+import java.util.UUID;
+
+/**
+ * One entry of the change feed. {@code task} holds the current state, and is null for deletes.
+ */
+public record TaskChange(UUID id, TaskChangeType type, Timestamp changedAt, TaskResponse task) { }
@@ -0,0 +1,9 @@
+package com.challenge.taskapp.dto;
+
+import java.util.List;
+
+/**
+ * Page of the change feed. {@code nextCursor} is always set: it is the watermark to send on the next poll, even when
+ * there are no changes.
+ */
+public record TaskChangesResponse(List<TaskChange> changes, boolean hasMore, String nextCursor) { }
@@ -0,0 +1,59 @@
+package com.challenge.taskapp.dto;
+
+import com.challenge.taskapp.exception.InvalidCursorException;
+import com.challenge.taskapp.model.Task;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position in a sequence of tasks ordered by (timestamp, id), encoded as an opaque token. The timestamp is the creation
+ * date for keyset pages and the change date for the change feed.
+ */
+public record TaskCursor(Timestamp timestamp, UUID id) {
+
+    /**
+     * Sorts before any task id, so {@code new TaskCursor(since, NIL_ID)} starts right at {@code since}.
+     */
+    public static final UUID NIL_ID = new UUID(0L, 0L);
+
+    private static final String SEPARATOR = "|";
+
+    public TaskCursor(final TaskResponse task) {
+        this(task.createdAt(), task.id());
+    }
+
+    public TaskCursor(final Task task) {
+        this(task.getCreatedAt(), task.getId());
+    }
+
+    public String encode() {
+        final String raw = timestamp.toInstant() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token produced by {@link #encode()}. A blank token means "start from the beginning" and returns null.
+     */
+    public static TaskCursor decode(final String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            final String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            final int separator = raw.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new InvalidCursorException();
+            }
+            final Instant timestamp = Instant.parse(raw.substring(0, separator));
+            final UUID id = UUID.fromString(raw.substring(separator + 1));
+            return new TaskCursor(Timestamp.from(timestamp), id);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidCursorException();
+        }
+    }
+}
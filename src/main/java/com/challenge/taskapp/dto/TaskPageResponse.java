@@ -0,0 +1,36 @@
+package com.challenge.taskapp.dto;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+
+/**
+ * Page of tasks, the response of every task list. The same fields whatever the pagination, a field that does not
+ * apply is null.
+ *
+ * @param page       zero-based page number, null for keyset pages
+ * @param total      tasks matching the query over all pages, only when counted (page number pagination without
+ *                   {@code withTotal=false})
+ * @param nextCursor {@code after} value of the next keyset page, null for the last one and for numbered pages
+ */
+public record TaskPageResponse(List<TaskResponse> content, Integer page, int size, Long total, boolean hasNext,
+                               String nextCursor) {
+
+    public static TaskPageResponse of(final Page<TaskResponse> page) {
+        return new TaskPageResponse(page.getContent(), page.getNumber(), page.getSize(), page.getTotalElements(),
+                page.hasNext(), null);
+    }
+
+    /**
+     * A slice is read with one row more than its size instead of a count query, which is all {@code hasNext} needs.
+     */
+    public static TaskPageResponse withoutTotal(final Slice<TaskResponse> slice) {
+        return new TaskPageResponse(slice.getContent(), slice.getNumber(), slice.getSize(), null, slice.hasNext(), null);
+    }
+
+    public static TaskPageResponse ofKeyset(final List<TaskResponse> content, final int size, final boolean hasNext,
+                                            final String nextCursor) {
+        return new TaskPageResponse(content, null, size, null, hasNext, nextCursor);
+    }
+}
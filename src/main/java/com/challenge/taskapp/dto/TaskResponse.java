@@ -1,12 +1,23 @@
 package com.challenge.taskapp.dto;
 
+import com.challenge.taskapp.enums.TaskStatus;
 import com.challenge.taskapp.model.Task;
 
 import java.sql.Timestamp;
 import java.util.UUID;
 
-public record TaskResponse(UUID id, String title, String description, String status, Timestamp createdAt, Timestamp updatedAt) {
+public record TaskResponse(UUID id, String title, String description, String status, Timestamp createdAt, Timestamp updatedAt,
+                           long version) {
+    /**
+     * Target of the {@code select new} projections of {@code TaskRepository}, which read the status as the enum.
+     */
+    public TaskResponse(final UUID id, final String title, final String description, final TaskStatus status,
+                        final Timestamp createdAt, final Timestamp updatedAt, final long version) {
+        this(id, title, description, status.name(), createdAt, updatedAt, version);
+    }
+
     public TaskResponse(final Task entity) {
-        this(entity.getId(), entity.getTitle(), entity.getDescription(), entity.getStatus().name(), entity.getCreatedAt(), entity.getUpdatedAt());
+        this(entity.getId(), entity.getTitle(), entity.getDescription(), entity.getStatus().name(), entity.getCreatedAt(),
+                entity.getUpdatedAt(), entity.getVersion());
     }
 }
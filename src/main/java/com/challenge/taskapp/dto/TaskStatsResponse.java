@@ -0,0 +1,15 @@
+package com.challenge.taskapp.dto;
+
+import com.challenge.taskapp.enums.TaskStatus;
+
+import java.util.Map;
+
+/**
+ * Number of tasks of the tenant per status, every status included. Eventually consistent, see {@code TaskStatusCounters}.
+ */
+public record TaskStatsResponse(Map<TaskStatus, Long> counts, long total) {
+
+    public static TaskStatsResponse of(final Map<TaskStatus, Long> counts) {
+        return new TaskStatsResponse(counts, counts.values().stream().mapToLong(Long::longValue).sum());
+    }
+}
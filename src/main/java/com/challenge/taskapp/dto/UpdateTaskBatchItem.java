@@ -0,0 +1,13 @@
+package com.challenge.taskapp.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.UUID;
+
+public record UpdateTaskBatchItem(
+        @NotNull(message = "id cannot be null")
+        UUID id,
+        @NotNull(message = "task cannot be null")
+        @Valid
+        UpdateTaskRequest task) { }
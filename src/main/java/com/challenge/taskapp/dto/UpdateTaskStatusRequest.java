@@ -0,0 +1,8 @@
+package com.challenge.taskapp.dto;
+
+import com.challenge.taskapp.enums.TaskStatus;
+import jakarta.validation.constraints.NotNull;
+
+public record UpdateTaskStatusRequest(
+        @NotNull(message = "status cannot be null")
+        TaskStatus status) { }
@@ -0,0 +1,5 @@
+package com.challenge.taskapp.enums;
+
+public enum BatchItemStatus {
+    CREATED, UPDATED, FAILED
+}
@@ -1,5 +1,22 @@
 package com.challenge.taskapp.enums;
 
+import java.util.Arrays;
+import java.util.List;
+
 public enum TaskStatus {
-    PENDING, IN_PROGRESS, DONE
+    PENDING, IN_PROGRESS, DONE;
+
+    /**
+     * Whether a task may move from {@code previous} to this status: a task can only be done once it is in progress.
+     */
+    public boolean canFollow(final TaskStatus previous) {
+        return this != DONE || previous == IN_PROGRESS;
+    }
+
+    /**
+     * Every status a task may move to this status from.
+     */
+    public List<TaskStatus> predecessors() {
+        return Arrays.stream(values()).filter(this::canFollow).toList();
+    }
 }
@@ -0,0 +1,19 @@
+package com.challenge.taskapp.enums;
+
+/**
+ * Where the tasks of a tenant are stored.
+ */
+public enum TenantIsolation {
+    /**
+     * In the shared tables, told apart by their TENANT_ID.
+     */
+    SHARED,
+    /**
+     * In tables of their own schema, in the shared database.
+     */
+    SCHEMA,
+    /**
+     * In a database of their own.
+     */
+    DATABASE
+}
@@ -0,0 +1,23 @@
+package com.challenge.taskapp.exception;
+
+import com.challenge.taskapp.dto.BatchItemResult;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Thrown when an all-or-nothing batch has at least one failing item. Nothing of the batch is persisted.
+ */
+@Getter
+public class BatchRejectedException extends RuntimeException {
+
+    private final List<BatchItemResult> failures;
+
+    public BatchRejectedException(final List<BatchItemResult> failures) {
+        super(failures.stream()
+                .map(failure -> "Item: " + failure.index() + " -> " + failure.error())
+                .collect(Collectors.joining(", ")));
+        this.failures = failures;
+    }
+}
@@ -1,7 +1,13 @@
 package com.challenge.taskapp.exception;
 
 import com.challenge.taskapp.dto.CustomErrorResponse;
+import com.challenge.taskapp.metrics.TenantTags;
+import com.challenge.taskapp.tenant.TenantContext;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -16,8 +22,12 @@ import java.util.stream.Collectors;
 
 @Slf4j
 @ControllerAdvice
+@RequiredArgsConstructor
 public class GlobalExceptionHandler {
 
+    private final MeterRegistry meterRegistry;
+    private final TenantTags tenantTags;
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<CustomErrorResponse> handleValidationExceptions(final MethodArgumentNotValidException ex, final WebRequest request) {
         log.debug("Handling MethodArgumentNotValidException: {}", ex.getMessage(), ex);
@@ -59,6 +69,7 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(NotFoundException.class)
     public ResponseEntity<CustomErrorResponse> handleNotFoundException(final NotFoundException ex, final WebRequest request) {
         log.debug("Handling NotFoundException: {}", ex.getMessage(), ex);
+        countError(ex);
 
         final CustomErrorResponse errorResponse = new CustomErrorResponse(HttpStatus.NOT_FOUND, ex.getMessage(), request);
 
@@ -69,6 +80,7 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(StatusUpdateException.class)
     public ResponseEntity<CustomErrorResponse> handleStatusUpdateException(final StatusUpdateException ex, final WebRequest request) {
         log.debug("Handling StatusUpdateException: {}", ex.getMessage(), ex);
+        countError(ex);
 
         final CustomErrorResponse errorResponse = new CustomErrorResponse(HttpStatus.BAD_REQUEST, ex.getMessage(), request);
 
@@ -76,6 +88,72 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
     }
 
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<CustomErrorResponse> handleInvalidCursorException(final InvalidCursorException ex, final WebRequest request) {
+        log.debug("Handling InvalidCursorException: {}", ex.getMessage(), ex);
+
+        final CustomErrorResponse errorResponse = new CustomErrorResponse(HttpStatus.BAD_REQUEST, ex.getMessage(), request);
+
+        log.debug("Returning BAD_REQUEST response for InvalidCursorException");
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+    }
+
+    @ExceptionHandler(InvalidSearchQueryException.class)
+    public ResponseEntity<CustomErrorResponse> handleInvalidSearchQueryException(final InvalidSearchQueryException ex, final WebRequest request) {
+        log.debug("Handling InvalidSearchQueryException: {}", ex.getMessage(), ex);
+
+        final CustomErrorResponse errorResponse = new CustomErrorResponse(HttpStatus.BAD_REQUEST, ex.getMessage(), request);
+
+        log.debug("Returning BAD_REQUEST response for InvalidSearchQueryException");
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+    }
+
+    @ExceptionHandler(BatchRejectedException.class)
+    public ResponseEntity<CustomErrorResponse> handleBatchRejectedException(final BatchRejectedException ex, final WebRequest request) {
+        log.debug("Handling BatchRejectedException: {}", ex.getMessage(), ex);
+
+        final CustomErrorResponse errorResponse = new CustomErrorResponse(HttpStatus.BAD_REQUEST, ex.getMessage(), request);
+
+        log.debug("Returning BAD_REQUEST response for BatchRejectedException with {} failed items", ex.getFailures().size());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+    }
+
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<CustomErrorResponse> handlePreconditionFailedException(final PreconditionFailedException ex, final WebRequest request) {
+        log.debug("Handling PreconditionFailedException: {}", ex.getMessage(), ex);
+        countError(ex);
+
+        final CustomErrorResponse errorResponse = new CustomErrorResponse(HttpStatus.PRECONDITION_FAILED, ex.getMessage(), request);
+
+        log.debug("Returning PRECONDITION_FAILED response for PreconditionFailedException");
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(errorResponse);
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<CustomErrorResponse> handleOptimisticLockingFailureException(final OptimisticLockingFailureException ex, final WebRequest request) {
+        log.debug("Handling OptimisticLockingFailureException: {}", ex.getMessage(), ex);
+        countError(ex);
+
+        // Do not leak the Hibernate message, it names entities and SQL
+        final CustomErrorResponse errorResponse = new CustomErrorResponse(HttpStatus.CONFLICT, "The task was modified concurrently, reload it and retry", request);
+
+        log.debug("Returning CONFLICT response for OptimisticLockingFailureException");
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+    }
+
+    @ExceptionHandler(TaskQueueFullException.class)
+    public ResponseEntity<CustomErrorResponse> handleTaskQueueFullException(final TaskQueueFullException ex, final WebRequest request) {
+        log.debug("Handling TaskQueueFullException: {}", ex.getMessage(), ex);
+        countError(ex);
+
+        final CustomErrorResponse errorResponse = new CustomErrorResponse(HttpStatus.TOO_MANY_REQUESTS, ex.getMessage(), request);
+
+        log.debug("Returning TOO_MANY_REQUESTS response for TaskQueueFullException");
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, ex.getRetryAfter().toSeconds())))
+                .body(errorResponse);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<CustomErrorResponse> handleGenericException(final WebRequest request) {
         log.debug("Handling generic Exception - Internal server error occurred");
@@ -85,4 +163,13 @@ public class GlobalExceptionHandler {
         log.debug("Returning INTERNAL_SERVER_ERROR response for generic exception");
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
     }
+
+    /**
+     * Counts the domain errors as {@code tasks.errors}, by exception and tenant.
+     */
+    private void countError(final Exception ex) {
+        meterRegistry.counter("tasks.errors",
+                "exception", ex.getClass().getSimpleName(),
+                TenantTags.TAG, tenantTags.of(TenantContext.getCurrentTenant())).increment();
+    }
 }
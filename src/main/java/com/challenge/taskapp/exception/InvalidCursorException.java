@@ -0,0 +1,12 @@
+package com.challenge.taskapp.exception;
+
+public class InvalidCursorException extends RuntimeException {
+
+    public InvalidCursorException() {
+        super("Invalid cursor");
+    }
+
+    public InvalidCursorException(final String message) {
+        super(message);
+    }
+}
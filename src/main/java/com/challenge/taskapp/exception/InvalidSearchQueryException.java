@@ -0,0 +1,12 @@
+package com.challenge.taskapp.exception;
+
+public class InvalidSearchQueryException extends RuntimeException {
+
+    public InvalidSearchQueryException() {
+        super("The search query contains no searchable word");
+    }
+
+    public InvalidSearchQueryException(final String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,12 @@
+package com.challenge.taskapp.exception;
+
+public class PreconditionFailedException extends RuntimeException {
+
+    public PreconditionFailedException() {
+        super("The task has been modified");
+    }
+
+    public PreconditionFailedException(final String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,19 @@
+package com.challenge.taskapp.exception;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Thrown when an asynchronous creation cannot be queued, the client should retry after {@link #getRetryAfter()}.
+ */
+@Getter
+public class TaskQueueFullException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public TaskQueueFullException(final Duration retryAfter) {
+        super("Too many tasks waiting to be created, retry later");
+        this.retryAfter = retryAfter;
+    }
+}
@@ -0,0 +1,11 @@
+package com.challenge.taskapp.ingest;
+
+import com.challenge.taskapp.dto.AddTaskRequest;
+
+import java.util.UUID;
+
+/**
+ * Task accepted by {@code POST /tasks?async=true} and waiting to be inserted, with the id already returned to the
+ * client.
+ */
+public record QueuedTask(UUID id, AddTaskRequest request) { }
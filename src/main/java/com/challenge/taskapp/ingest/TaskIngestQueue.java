@@ -0,0 +1,227 @@
+package com.challenge.taskapp.ingest;
+
+import com.challenge.taskapp.dto.AddTaskRequest;
+import com.challenge.taskapp.exception.TaskQueueFullException;
+import com.challenge.taskapp.metrics.TenantTags;
+import com.challenge.taskapp.model.id.UuidV7;
+import com.challenge.taskapp.service.TaskService;
+import com.challenge.taskapp.tenant.TenantContext;
+import com.challenge.taskapp.tenant.TenantIdentifierResolver;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Write-behind queue of {@code POST /tasks?async=true}: tasks are accepted in memory with their id assigned, and a
+ * single drainer thread inserts them in batches of up to {@code app.ingest.batch-size}, one transaction per batch.
+ * Under a burst the drainer falls behind and batches fill up on their own, a lone task is inserted right away.
+ * <p>
+ * Every tenant has its own queue, and the drainer serves the tenants with pending tasks in turn, one batch each, so a
+ * tenant sending thousands of tasks delays the others by at most one batch. Admission is bounded twice: by
+ * {@code app.ingest.capacity} tasks overall and {@code app.ingest.tenant-capacity} per tenant, so a noisy tenant gets
+ * 429 while there is still room for the others. A tenant's queue is dropped once drained, so the queues held at any
+ * time are those of the tenants with tasks pending, never more than {@code app.ingest.capacity}.
+ * <p>
+ * Accepted tasks only live in memory until inserted: they survive a graceful shutdown, which drains the queue for up
+ * to {@code app.ingest.shutdown-timeout}, not a crash.
+ */
+@Slf4j
+@Component
+public class TaskIngestQueue implements SmartLifecycle {
+
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(100);
+
+    private final TaskService taskService;
+    private final TenantIdentifierResolver tenantIdentifierResolver;
+    private final MeterRegistry meterRegistry;
+    private final TenantTags tenantTags;
+    private final int capacity;
+    private final int tenantCapacity;
+    private final int batchSize;
+    private final Duration shutdownTimeout;
+    private final Duration retryAfter;
+
+    private final Map<String, TenantQueue> queues = new ConcurrentHashMap<>();
+    // Tenants with pending tasks, each at most once, in the order the drainer serves them
+    private final BlockingQueue<TenantQueue> ready = new LinkedBlockingQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private volatile boolean running;
+    private Thread drainer;
+
+    public TaskIngestQueue(final TaskService taskService,
+                           final TenantIdentifierResolver tenantIdentifierResolver,
+                           final MeterRegistry meterRegistry,
+                           final TenantTags tenantTags,
+                           @Value("${app.ingest.capacity:10000}") final int capacity,
+                           @Value("${app.ingest.tenant-capacity:2000}") final int tenantCapacity,
+                           @Value("${app.ingest.batch-size:500}") final int batchSize,
+                           @Value("${app.ingest.shutdown-timeout:PT30S}") final Duration shutdownTimeout,
+                           @Value("${app.ingest.retry-after:PT1S}") final Duration retryAfter) {
+        this.taskService = taskService;
+        this.tenantIdentifierResolver = tenantIdentifierResolver;
+        this.meterRegistry = meterRegistry;
+        this.tenantTags = tenantTags;
+        this.capacity = capacity;
+        this.tenantCapacity = tenantCapacity;
+        this.batchSize = batchSize;
+        this.shutdownTimeout = shutdownTimeout;
+        this.retryAfter = retryAfter;
+        meterRegistry.gauge("tasks.ingest.queued", queued);
+        meterRegistry.gaugeMapSize("tasks.ingest.tenants", Tags.empty(), queues);
+    }
+
+    /**
+     * Queues the task for the current tenant and returns its id.
+     *
+     * @throws TaskQueueFullException when the queue or the tenant's share of it is full, or the application is stopping
+     */
+    public UUID submit(final AddTaskRequest request) {
+        final String tenant = tenantIdentifierResolver.resolveCurrentTenantIdentifier();
+        final TenantQueue queue = queues.computeIfAbsent(tenant, TenantQueue::new);
+        if (!running || !reserve(queue)) {
+            if (queue.size.get() == 0) {
+                queues.remove(tenant, queue);
+            }
+            meterRegistry.counter("tasks.ingest.rejected", TenantTags.TAG, tenantTags.of(tenant)).increment();
+            throw new TaskQueueFullException(retryAfter);
+        }
+        final UUID id = UuidV7.next();
+        queue.tasks.add(new QueuedTask(id, request));
+        if (queue.scheduled.compareAndSet(false, true)) {
+            ready.add(queue);
+        }
+        return id;
+    }
+
+    private boolean reserve(final TenantQueue queue) {
+        if (queued.incrementAndGet() > capacity) {
+            queued.decrementAndGet();
+            return false;
+        }
+        if (queue.size.incrementAndGet() > tenantCapacity) {
+            queue.size.decrementAndGet();
+            queued.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    private void drain() {
+        while (running || queued.get() > 0) {
+            final TenantQueue queue;
+            try {
+                queue = ready.poll(POLL_INTERVAL.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (queue != null) {
+                drain(queue);
+            }
+        }
+    }
+
+    private void drain(final TenantQueue queue) {
+        final List<QueuedTask> batch = new ArrayList<>(batchSize);
+        QueuedTask task;
+        while (batch.size() < batchSize && (task = queue.tasks.poll()) != null) {
+            batch.add(task);
+        }
+        if (!batch.isEmpty()) {
+            try (TenantContext.Scope ignored = TenantContext.open(queue.tenant)) {
+                insert(queue.tenant, batch);
+            }
+            queue.size.addAndGet(-batch.size());
+            queued.addAndGet(-batch.size());
+        }
+        // Back to the end of the line if more arrived, a concurrent submit re-schedules it otherwise
+        queue.scheduled.set(false);
+        if (queue.size.get() == 0) {
+            // A submit still holding this queue schedules it itself, the next ones start a new queue
+            queues.remove(queue.tenant, queue);
+        }
+        if (!queue.tasks.isEmpty() && queue.scheduled.compareAndSet(false, true)) {
+            ready.add(queue);
+        }
+    }
+
+    private void insert(final String tenant, final List<QueuedTask> batch) {
+        try {
+            taskService.createQueued(batch);
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                // The id was already returned, the task is lost: make it visible
+                log.error("Could not insert queued task {} of tenant {}", batch.getFirst().id(), tenant, e);
+                meterRegistry.counter("tasks.ingest.failed", TenantTags.TAG, tenantTags.of(tenant)).increment();
+                return;
+            }
+            // One bad task must not take the rest of its batch with it
+            log.warn("Could not insert a batch of {} queued tasks of tenant {}, retrying one by one", batch.size(), tenant, e);
+            batch.forEach(task -> insert(tenant, List.of(task)));
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        drainer = Thread.ofPlatform().name("task-ingest").start(this::drain);
+    }
+
+    /**
+     * Stops accepting tasks and inserts the queued ones. Runs after the web server has stopped, see {@link #getPhase()}.
+     */
+    @Override
+    public void stop() {
+        running = false;
+        try {
+            if (!drainer.join(shutdownTimeout)) {
+                log.error("{} queued tasks were not inserted within {}", queued.get(), shutdownTimeout);
+                drainer.interrupt();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Lower than the web server lifecycles, so the server stops taking requests before the queue is drained.
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private static final class TenantQueue {
+
+        private final String tenant;
+        private final Queue<QueuedTask> tasks = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger size = new AtomicInteger();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        private TenantQueue(final String tenant) {
+            this.tenant = tenant;
+        }
+    }
+}
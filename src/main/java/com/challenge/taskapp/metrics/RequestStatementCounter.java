@@ -0,0 +1,82 @@
+package com.challenge.taskapp.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread while a {@link Recording} is open. Installed as
+ * Hibernate's {@link StatementInspector}, it returns every statement unchanged.
+ * <p>
+ * {@link StatementMetricsFilter} records every request. Recordings nest: statements seen by an inner recording are
+ * also counted by the enclosing one, so tests can open their own around a MockMvc call.
+ */
+public final class RequestStatementCounter implements StatementInspector {
+
+    /**
+     * Statements kept per recording for logging, the count itself is not bounded.
+     */
+    static final int MAX_KEPT_STATEMENTS = 50;
+
+    private static final ThreadLocal<Recording> CURRENT = new ThreadLocal<>();
+
+    /**
+     * Starts counting on the current thread until the returned recording is closed.
+     */
+    public static Recording start() {
+        final Recording recording = new Recording(CURRENT.get());
+        CURRENT.set(recording);
+        return recording;
+    }
+
+    @Override
+    public String inspect(final String sql) {
+        final Recording recording = CURRENT.get();
+        if (recording != null) {
+            recording.add(sql);
+        }
+        return sql;
+    }
+
+    public static final class Recording implements AutoCloseable {
+
+        private final Recording parent;
+        private final List<String> statements = new ArrayList<>();
+        private int count;
+
+        private Recording(final Recording parent) {
+            this.parent = parent;
+        }
+
+        public int count() {
+            return count;
+        }
+
+        /**
+         * The first {@value #MAX_KEPT_STATEMENTS} statements, in execution order.
+         */
+        public List<String> statements() {
+            return Collections.unmodifiableList(statements);
+        }
+
+        @Override
+        public void close() {
+            if (parent == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(parent);
+            }
+        }
+
+        private void add(final String sql) {
+            for (Recording recording = this; recording != null; recording = recording.parent) {
+                recording.count++;
+                if (recording.statements.size() < MAX_KEPT_STATEMENTS) {
+                    recording.statements.add(sql);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.challenge.taskapp.metrics;
+
+import com.challenge.taskapp.tenant.TenantContext;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Records the number of SQL statements of every request as the {@code tasks.db.statements} summary, tagged like
+ * {@code http.server.requests} by method, uri template and tenant. Requests that matched no handler are not recorded,
+ * their uri would be unbounded.
+ * <p>
+ * Requests that run more than {@code app.sql.log-threshold.statements} statements (usually an N+1 pattern) or take
+ * longer than {@code app.sql.log-threshold.duration} are logged at WARN with their statements.
+ */
+@Slf4j
+@Component
+public class StatementMetricsFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry meterRegistry;
+    private final TenantTags tenantTags;
+    private final int statementThreshold;
+    private final long durationThresholdNanos;
+
+    public StatementMetricsFilter(final MeterRegistry meterRegistry,
+                                  final TenantTags tenantTags,
+                                  @Value("${app.sql.log-threshold.statements:20}") final int statementThreshold,
+                                  @Value("${app.sql.log-threshold.duration:PT1S}") final Duration durationThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.tenantTags = tenantTags;
+        this.statementThreshold = statementThreshold;
+        this.durationThresholdNanos = durationThreshold.toNanos();
+    }
+
+    @Override
+    protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response,
+                                    final FilterChain chain) throws ServletException, IOException {
+        final long start = System.nanoTime();
+        final RequestStatementCounter.Recording recording = RequestStatementCounter.start();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            recording.close();
+            final long elapsed = System.nanoTime() - start;
+            final Object uri = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            if (uri != null) {
+                DistributionSummary.builder("tasks.db.statements")
+                        .description("SQL statements prepared per HTTP request")
+                        .baseUnit("statements")
+                        .tag("method", request.getMethod())
+                        .tag("uri", uri.toString())
+                        .tag(TenantTags.TAG, tenantTags.of(request.getHeader(TenantContext.HEADER)))
+                        .publishPercentileHistogram()
+                        .maximumExpectedValue(100.0)
+                        .register(meterRegistry)
+                        .record(recording.count());
+            }
+            if (recording.count() > statementThreshold || elapsed > durationThresholdNanos) {
+                log.warn("{} {} took {} ms and ran {} SQL statements: {}", request.getMethod(), request.getRequestURI(),
+                        Duration.ofNanos(elapsed).toMillis(), recording.count(), recording.statements());
+            }
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.challenge.taskapp.metrics;
+
+import com.challenge.taskapp.tenant.TenantContext;
+import io.micrometer.common.KeyValues;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.stereotype.Component;
+
+/**
+ * Adds the {@code tenant} tag to the {@code http.server.requests} timers, so every endpoint has a latency histogram
+ * per tenant. The tag is read from the request header, the tenant binding is already closed when the observation
+ * stops. Rejected requests never claim one of the bounded tenant tags, anybody can send the header.
+ */
+@Component
+@RequiredArgsConstructor
+public class TenantServerRequestObservationConvention extends DefaultServerRequestObservationConvention {
+
+    private final TenantTags tenantTags;
+
+    @Override
+    public KeyValues getLowCardinalityKeyValues(final ServerRequestObservationContext context) {
+        return super.getLowCardinalityKeyValues(context).and(TenantTags.TAG, tenant(context));
+    }
+
+    private String tenant(final ServerRequestObservationContext context) {
+        final HttpServletResponse response = context.getResponse();
+        if (response != null && (response.getStatus() == HttpServletResponse.SC_UNAUTHORIZED
+                || response.getStatus() == HttpServletResponse.SC_FORBIDDEN)) {
+            return TenantTags.OTHER;
+        }
+        return tenantTags.of(context.getCarrier().getHeader(TenantContext.HEADER));
+    }
+}
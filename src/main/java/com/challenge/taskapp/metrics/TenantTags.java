@@ -0,0 +1,41 @@
+package com.challenge.taskapp.metrics;
+
+import com.challenge.taskapp.tenant.TenantIdentifierResolver;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Value of the {@code tenant} tag of the application meters, with bounded cardinality: the first
+ * {@code app.metrics.tenant-tags.maximum} tenants seen keep their own tag, any later one is reported as {@value #OTHER}.
+ * Without the bound every tenant id ever sent would create a new time series per meter.
+ */
+@Component
+public class TenantTags {
+
+    public static final String TAG = "tenant";
+    public static final String OTHER = "other";
+
+    private final int maximum;
+    private final Set<String> tagged = ConcurrentHashMap.newKeySet();
+
+    public TenantTags(@Value("${app.metrics.tenant-tags.maximum:50}") final int maximum) {
+        this.maximum = maximum;
+    }
+
+    public String of(final String tenant) {
+        final String name = tenant == null || tenant.isEmpty() ? TenantIdentifierResolver.DEFAULT_TENANT : tenant;
+        if (tagged.contains(name)) {
+            return name;
+        }
+        synchronized (tagged) {
+            if (tagged.size() < maximum) {
+                tagged.add(name);
+                return name;
+            }
+        }
+        return OTHER;
+    }
+}
@@ -0,0 +1,58 @@
+package com.challenge.taskapp.model;
+
+import com.challenge.taskapp.enums.TaskStatus;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.TenantId;
+
+import java.sql.Timestamp;
+import java.util.UUID;
+
+/**
+ * Read-only mapping of the archive table alone (TASKS_ARCHIVE), for the lookups by id that only need the archived
+ * side of {@link TaskIncludingArchived}. Rows are only written by {@code TaskArchiver}.
+ */
+@Getter
+@NoArgsConstructor
+@Entity
+@Immutable
+@Table(name = "TASKS_ARCHIVE")
+public final class ArchivedTask {
+
+    @Id
+    @Column(name = Task.ColumnNames.ID)
+    private UUID id;
+
+    @Column(name = Task.ColumnNames.TITLE)
+    private String title;
+
+    @Column(name = Task.ColumnNames.DESCRIPTION)
+    private String description;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = Task.ColumnNames.STATUS)
+    private TaskStatus status;
+
+    @Column(name = Task.ColumnNames.CREATED_AT)
+    private Timestamp createdAt;
+
+    @Column(name = Task.ColumnNames.UPDATED_AT)
+    private Timestamp updatedAt;
+
+    @Column(name = Task.ColumnNames.TENANT_ID)
+    @TenantId
+    private String tenantId;
+
+    @Column(name = Task.ColumnNames.VERSION)
+    private long version;
+
+    @Column(name = "ARCHIVED_AT")
+    private Timestamp archivedAt;
+}
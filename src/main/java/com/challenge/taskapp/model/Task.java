@@ -2,14 +2,15 @@ package com.challenge.taskapp.model;
 
 import com.challenge.taskapp.enums.TaskStatus;
 import com.challenge.taskapp.exception.StatusUpdateException;
+import com.challenge.taskapp.model.id.TimeOrderedUuid;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -26,11 +27,24 @@ import java.util.UUID;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
-@Table(name = "TASKS")
+@Table(name = "TASKS", indexes = {
+    // Every query is scoped by the tenant discriminator, so it leads every index. The schema itself is owned by the
+    // Flyway migrations in db/migration, these declarations only document it.
+    @Index(name = "IDX_TASKS_TENANT_CREATED_AT_ID",
+            columnList = Task.ColumnNames.TENANT_ID + ", " + Task.ColumnNames.CREATED_AT + ", " + Task.ColumnNames.ID),
+    @Index(name = "IDX_TASKS_TENANT_STATUS_CREATED_AT_ID",
+            columnList = Task.ColumnNames.TENANT_ID + ", " + Task.ColumnNames.STATUS + ", "
+                    + Task.ColumnNames.CREATED_AT + ", " + Task.ColumnNames.ID),
+    @Index(name = "IDX_TASKS_TENANT_UPDATED_AT_ID",
+            columnList = Task.ColumnNames.TENANT_ID + ", " + Task.ColumnNames.UPDATED_AT + ", " + Task.ColumnNames.ID),
+    @Index(name = "IDX_TASKS_TENANT_STATUS_UPDATED_AT_ID",
+            columnList = Task.ColumnNames.TENANT_ID + ", " + Task.ColumnNames.STATUS + ", "
+                    + Task.ColumnNames.UPDATED_AT + ", " + Task.ColumnNames.ID)
+})
 public final class Task {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedUuid
     @Column(name = ColumnNames.ID)
     private UUID id;
 
@@ -56,13 +70,18 @@ public final class Task {
     @TenantId
     private String tenantId;
 
+    // Checked and incremented by every UPDATE, so concurrent read-modify-write cycles fail instead of overwriting
+    @Version
+    @Column(name = ColumnNames.VERSION, nullable = false)
+    private long version;
+
     public Task(final String title, final String description) {
         this.title = title;
         this.description = description;
     }
 
     public void setStatus(final TaskStatus newStatus) {
-        if (this.status != TaskStatus.IN_PROGRESS && newStatus == TaskStatus.DONE) {
+        if (!newStatus.canFollow(this.status)) {
             throw new StatusUpdateException("Cannot change status from " + this.status + " to " + newStatus);
         }
         this.status = newStatus;
@@ -76,6 +95,7 @@ public final class Task {
         public static final String CREATED_AT = "CREATED_AT";
         public static final String UPDATED_AT = "UPDATED_AT";
         public static final String TENANT_ID = "TENANT_ID";
+        public static final String VERSION = "VERSION";
     }
 
 }
@@ -0,0 +1,55 @@
+package com.challenge.taskapp.model;
+
+import com.challenge.taskapp.enums.TaskStatus;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.TenantId;
+
+import java.sql.Timestamp;
+import java.util.UUID;
+
+/**
+ * Read-only view over live tasks (TASKS) and archived ones (TASKS_ARCHIVE), for the reads that opt in to archived
+ * tasks. Archived tasks are DONE tasks moved out of TASKS by {@code TaskArchiver}, they can no longer change.
+ */
+@Getter
+@NoArgsConstructor
+@Entity
+@Immutable
+@Table(name = "TASKS_INCLUDING_ARCHIVED")
+public final class TaskIncludingArchived {
+
+    @Id
+    @Column(name = Task.ColumnNames.ID)
+    private UUID id;
+
+    @Column(name = Task.ColumnNames.TITLE)
+    private String title;
+
+    @Column(name = Task.ColumnNames.DESCRIPTION)
+    private String description;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = Task.ColumnNames.STATUS)
+    private TaskStatus status;
+
+    @Column(name = Task.ColumnNames.CREATED_AT)
+    private Timestamp createdAt;
+
+    @Column(name = Task.ColumnNames.UPDATED_AT)
+    private Timestamp updatedAt;
+
+    @Column(name = Task.ColumnNames.TENANT_ID)
+    @TenantId
+    private String tenantId;
+
+    @Column(name = Task.ColumnNames.VERSION)
+    private long version;
+}
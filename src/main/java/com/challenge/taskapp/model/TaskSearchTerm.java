@@ -0,0 +1,75 @@
+package com.challenge.taskapp.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.TenantId;
+import org.springframework.data.domain.Persistable;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+/**
+ * Posting of the search index: {@code term} occurs {@code frequency} times (weighted) in task {@code taskId}.
+ * The table is keyed by tenant first, so the postings of a term are read per tenant without touching other tenants.
+ */
+@Getter
+@NoArgsConstructor
+@Entity
+@Table(name = "TASK_SEARCH_TERMS", indexes = {
+    @Index(name = "IDX_TASK_SEARCH_TERMS_TASK_ID", columnList = TaskSearchTerm.ColumnNames.TASK_ID)
+})
+public final class TaskSearchTerm implements Persistable<TaskSearchTerm.Key> {
+
+    @EmbeddedId
+    private Key id;
+
+    @Column(name = ColumnNames.FREQUENCY, nullable = false)
+    private int frequency;
+
+    @Column(name = ColumnNames.TENANT_ID)
+    @TenantId
+    private String tenantId;
+
+    public TaskSearchTerm(final UUID taskId, final String term, final int frequency) {
+        this.id = new Key(term, taskId);
+        this.frequency = frequency;
+    }
+
+    /**
+     * Postings are only inserted and bulk deleted, never updated, this spares the SELECT of {@code save}.
+     */
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+
+    @Getter
+    @EqualsAndHashCode
+    @NoArgsConstructor(access = AccessLevel.PROTECTED)
+    @AllArgsConstructor
+    @Embeddable
+    public static class Key implements Serializable {
+
+        @Column(name = ColumnNames.TERM, nullable = false, length = 64)
+        private String term;
+
+        @Column(name = ColumnNames.TASK_ID, nullable = false)
+        private UUID taskId;
+    }
+
+    static final class ColumnNames {
+        public static final String TERM = "TERM";
+        public static final String TASK_ID = "TASK_ID";
+        public static final String FREQUENCY = "FREQUENCY";
+        public static final String TENANT_ID = "TENANT_ID";
+    }
+}
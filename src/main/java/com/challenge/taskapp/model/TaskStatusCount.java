@@ -0,0 +1,69 @@
+package com.challenge.taskapp.model;
+
+import com.challenge.taskapp.enums.TaskStatus;
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import java.io.Serializable;
+
+/**
+ * Number of tasks of a tenant in a status, maintained by {@code TaskStatusCounters}. The tenant is part of the key
+ * rather than a {@code @TenantId} discriminator, the counters of every tenant are written by one background job.
+ */
+@Getter
+@NoArgsConstructor
+@Entity
+@Table(name = "TASK_STATUS_COUNTS")
+public final class TaskStatusCount implements Persistable<TaskStatusCount.Key> {
+
+    @EmbeddedId
+    private Key id;
+
+    @Column(name = ColumnNames.TASK_COUNT, nullable = false)
+    private long taskCount;
+
+    public TaskStatusCount(final String tenantId, final TaskStatus status, final long taskCount) {
+        this.id = new Key(tenantId, status);
+        this.taskCount = taskCount;
+    }
+
+    /**
+     * Rows are only inserted and changed by bulk statements, this spares the SELECT of {@code save}.
+     */
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+
+    @Getter
+    @EqualsAndHashCode
+    @NoArgsConstructor(access = AccessLevel.PROTECTED)
+    @AllArgsConstructor
+    @Embeddable
+    public static class Key implements Serializable {
+
+        @Column(name = ColumnNames.TENANT_ID, nullable = false)
+        private String tenantId;
+
+        @Enumerated(EnumType.STRING)
+        @Column(name = ColumnNames.STATUS, nullable = false)
+        private TaskStatus status;
+    }
+
+    static final class ColumnNames {
+        public static final String TENANT_ID = "TENANT_ID";
+        public static final String STATUS = "STATUS";
+        public static final String TASK_COUNT = "TASK_COUNT";
+    }
+}
@@ -0,0 +1,64 @@
+package com.challenge.taskapp.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.TenantId;
+import org.springframework.data.domain.Persistable;
+
+import java.sql.Timestamp;
+import java.util.UUID;
+
+/**
+ * Trace left by a deleted task, so the change feed can report deletes.
+ */
+@Getter
+@NoArgsConstructor
+@Entity
+@Table(name = "TASK_TOMBSTONES", indexes = {
+    @Index(name = "IDX_TASK_TOMBSTONES_TENANT_DELETED_AT_ID",
+            columnList = TaskTombstone.ColumnNames.TENANT_ID + ", " + TaskTombstone.ColumnNames.DELETED_AT + ", "
+                    + TaskTombstone.ColumnNames.TASK_ID)
+})
+public final class TaskTombstone implements Persistable<UUID> {
+
+    @Id
+    @Column(name = ColumnNames.TASK_ID)
+    private UUID taskId;
+
+    @Column(name = ColumnNames.DELETED_AT, nullable = false)
+    @CreationTimestamp
+    private Timestamp deletedAt;
+
+    @Column(name = ColumnNames.TENANT_ID)
+    @TenantId
+    private String tenantId;
+
+    public TaskTombstone(final UUID taskId) {
+        this.taskId = taskId;
+    }
+
+    @Override
+    public UUID getId() {
+        return taskId;
+    }
+
+    /**
+     * Tombstones are only ever inserted, this spares the SELECT that {@code save} does for entities with an assigned id.
+     */
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+
+    static final class ColumnNames {
+        public static final String TASK_ID = "TASK_ID";
+        public static final String DELETED_AT = "DELETED_AT";
+        public static final String TENANT_ID = "TENANT_ID";
+    }
+}
@@ -0,0 +1,21 @@
+package com.challenge.taskapp.model;
+
+/**
+ * Opaque tag that changes every time a task changes, used to build ETags and to check If-Match preconditions.
+ * <p>
+ * It is derived from the optimistic locking {@code version} of the task, so a tag that still matches also means
+ * the write it guards cannot lose a concurrent update.
+ */
+public final class TaskVersionTag {
+
+    private TaskVersionTag() {
+    }
+
+    public static String of(final long version) {
+        return Long.toString(version, Character.MAX_RADIX);
+    }
+
+    public static String of(final Task task) {
+        return of(task.getVersion());
+    }
+}
@@ -0,0 +1,46 @@
+package com.challenge.taskapp.model.id;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Time-ordered UUIDs following the version 7 layout of RFC 9562: 48 bits of Unix epoch milliseconds, then 12 bits of
+ * sub-millisecond clock fraction (method 3 of the RFC) and 62 random bits.
+ * <p>
+ * Ids generated in different milliseconds sort by creation time, so inserts land on the right-most pages of the
+ * primary key index instead of random ones. There is no shared state: randomness comes from {@link ThreadLocalRandom},
+ * so concurrent callers never contend.
+ */
+public final class UuidV7 {
+
+    private static final long VERSION = 0x7000L;
+    private static final long VARIANT = 0x8000_0000_0000_0000L;
+    private static final long RAND_B_MASK = 0x3FFF_FFFF_FFFF_FFFFL;
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+    private static final int SUB_MILLI_BITS = 12;
+
+    private UuidV7() {
+    }
+
+    public static UUID next() {
+        return from(Instant.now());
+    }
+
+    static UUID from(final Instant instant) {
+        final long millis = instant.toEpochMilli();
+        final long subMilliNanos = instant.getNano() % NANOS_PER_MILLI;
+        final long subMilli = (subMilliNanos << SUB_MILLI_BITS) / NANOS_PER_MILLI;
+
+        final long mostSigBits = (millis << 16) | VERSION | subMilli;
+        final long leastSigBits = VARIANT | (ThreadLocalRandom.current().nextLong() & RAND_B_MASK);
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    /**
+     * Unix epoch milliseconds encoded in a version 7 UUID.
+     */
+    public static long timestamp(final UUID uuid) {
+        return uuid.getMostSignificantBits() >>> 16;
+    }
+}
@@ -0,0 +1,33 @@
+package com.challenge.taskapp.quota;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.Map;
+
+/**
+ * Request quotas per tenant: {@code app.quota.defaults.*} for every tenant, {@code app.quota.tenants.<tenant>.*} to
+ * override them for one.
+ */
+@ConfigurationProperties("app.quota")
+public record TenantQuotaProperties(@DefaultValue("true") boolean enabled,
+                                    @DefaultValue Limits defaults,
+                                    Map<String, Limits> tenants) {
+
+    public TenantQuotaProperties {
+        tenants = tenants == null ? Map.of() : Map.copyOf(tenants);
+    }
+
+    public Limits of(final String tenant) {
+        return tenants.getOrDefault(tenant, defaults);
+    }
+
+    /**
+     * @param rate        sustained requests per second
+     * @param burst       requests accepted at once above the rate, after a quiet period
+     * @param concurrency requests processed at the same time
+     */
+    public record Limits(@DefaultValue("200") double rate,
+                         @DefaultValue("400") int burst,
+                         @DefaultValue("50") int concurrency) { }
+}
@@ -0,0 +1,68 @@
+package com.challenge.taskapp.quota;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Rate and concurrency state of every active tenant. The tenant comes from a request header, so the state is kept in
+ * a bounded cache rather than a map any client could grow; a tenant idle long enough to be evicted starts again with
+ * a full bucket.
+ */
+@Component
+public class TenantQuotas {
+
+    private static final long MAXIMUM_TENANTS = 10_000;
+    private static final Duration IDLE_EXPIRY = Duration.ofMinutes(10);
+
+    private final TenantQuotaProperties properties;
+    private final Cache<String, Quota> quotas = Caffeine.newBuilder()
+            .maximumSize(MAXIMUM_TENANTS)
+            .expireAfterAccess(IDLE_EXPIRY)
+            .build();
+
+    public TenantQuotas(final TenantQuotaProperties properties) {
+        this.properties = properties;
+    }
+
+    public Quota of(final String tenant) {
+        return quotas.get(tenant, name -> new Quota(properties.of(name)));
+    }
+
+    public static final class Quota {
+
+        private final TokenBucket bucket;
+        private final int concurrency;
+        private final AtomicInteger inFlight = new AtomicInteger();
+
+        private Quota(final TenantQuotaProperties.Limits limits) {
+            this.bucket = new TokenBucket(limits.rate(), limits.burst());
+            this.concurrency = limits.concurrency();
+        }
+
+        /**
+         * @return 0 when the request may go on, otherwise the nanoseconds until the rate allows it
+         */
+        public long tryAcquireRate() {
+            return bucket.tryAcquire();
+        }
+
+        /**
+         * Takes one of the tenant's concurrent request slots, to give back with {@link #release()}.
+         */
+        public boolean tryAcquireSlot() {
+            if (inFlight.incrementAndGet() > concurrency) {
+                inFlight.decrementAndGet();
+                return false;
+            }
+            return true;
+        }
+
+        public void release() {
+            inFlight.decrementAndGet();
+        }
+    }
+}
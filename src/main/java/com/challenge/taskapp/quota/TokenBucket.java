@@ -0,0 +1,56 @@
+package com.challenge.taskapp.quota;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket refilled at {@code rate} tokens per second and holding up to {@code burst} tokens, lock-free.
+ * <p>
+ * Implemented as the equivalent generic cell rate algorithm: instead of a token count and a refill timestamp, which
+ * would need a lock to update together, the whole state is the theoretical arrival time of the next request, the
+ * instant at which the bucket would be full again. Acquiring a token is a single compare-and-set that pushes it one
+ * emission interval further.
+ */
+public final class TokenBucket {
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final long emissionIntervalNanos;
+    private final long burstNanos;
+    private final LongSupplier nanoClock;
+    private final AtomicLong theoreticalArrival;
+
+    public TokenBucket(final double rate, final int burst) {
+        this(rate, burst, System::nanoTime);
+    }
+
+    TokenBucket(final double rate, final int burst, final LongSupplier nanoClock) {
+        if (rate <= 0 || burst < 1) {
+            throw new IllegalArgumentException("rate must be positive and burst at least 1");
+        }
+        this.emissionIntervalNanos = Math.max(1, (long) (NANOS_PER_SECOND / rate));
+        this.burstNanos = emissionIntervalNanos * burst;
+        this.nanoClock = nanoClock;
+        this.theoreticalArrival = new AtomicLong(nanoClock.getAsLong());
+    }
+
+    /**
+     * Takes a token if one is available.
+     *
+     * @return 0 when a token was taken, otherwise the nanoseconds until one will be
+     */
+    public long tryAcquire() {
+        while (true) {
+            final long now = nanoClock.getAsLong();
+            final long current = theoreticalArrival.get();
+            final long next = Math.max(current, now) + emissionIntervalNanos;
+            final long allowedAt = next - burstNanos;
+            if (allowedAt - now > 0) {
+                return allowedAt - now;
+            }
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+}
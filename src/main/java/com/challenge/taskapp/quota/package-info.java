@@ -0,0 +1 @@
+package com.challenge.taskapp.quota;
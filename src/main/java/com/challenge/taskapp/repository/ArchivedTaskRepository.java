@@ -0,0 +1,20 @@
+package com.challenge.taskapp.repository;
+
+import com.challenge.taskapp.dto.TaskResponse;
+import com.challenge.taskapp.model.ArchivedTask;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+import java.util.UUID;
+
+public interface ArchivedTaskRepository extends Repository<ArchivedTask, UUID> {
+
+    /**
+     * Looks an archived task up on the primary key of TASKS_ARCHIVE, without going through the
+     * TASKS_INCLUDING_ARCHIVED view and its second scan of TASKS.
+     */
+    @Query(TaskResponseRepository.SELECT_RESPONSE + "where t.id = :id")
+    Optional<TaskResponse> findResponseById(@Param("id") UUID id);
+}
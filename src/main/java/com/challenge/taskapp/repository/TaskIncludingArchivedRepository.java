@@ -0,0 +1,6 @@
+package com.challenge.taskapp.repository;
+
+import com.challenge.taskapp.model.TaskIncludingArchived;
+
+public interface TaskIncludingArchivedRepository extends TaskResponseRepository<TaskIncludingArchived> {
+}
@@ -2,14 +2,123 @@ package com.challenge.taskapp.repository;
 
 import com.challenge.taskapp.enums.TaskStatus;
 import com.challenge.taskapp.model.Task;
-import org.springframework.data.domain.Page;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
 
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
-public interface TaskRepository extends CrudRepository<Task, UUID>, PagingAndSortingRepository<Task, UUID> {
+public interface TaskRepository extends CrudRepository<Task, UUID>, PagingAndSortingRepository<Task, UUID>,
+        TaskResponseRepository<Task> {
 
-    Page<Task> findByStatus(TaskStatus status, Pageable pageable);
+    /**
+     * Sends pending changes of the current transaction to the database, implemented by Spring Data's base repository.
+     */
+    void flush();
+
+    // Bulk deletes bypass the persistence context, so the tenant is passed explicitly instead of relying on the
+    // discriminator being applied to the mutation.
+
+    /**
+     * Status of the task, its row locked until the transaction ends so the status cannot change before it is deleted.
+     * Native, as a plain {@code SELECT ... FOR UPDATE} that H2 and PostgreSQL both run.
+     */
+    @Query(value = "SELECT STATUS FROM TASKS WHERE ID = :id AND TENANT_ID = :tenantId FOR UPDATE", nativeQuery = true)
+    Optional<String> findStatusForUpdate(@Param("id") UUID id, @Param("tenantId") String tenantId);
+
+    @Modifying
+    @Query("delete from Task t where t.id = :id and t.tenantId = :tenantId")
+    int deleteByIdAndTenantId(@Param("id") UUID id, @Param("tenantId") String tenantId);
+
+    @Modifying
+    @Query("delete from Task t where t.id = :id and t.tenantId = :tenantId and t.version = :version")
+    int deleteByIdAndTenantIdAndVersion(@Param("id") UUID id, @Param("tenantId") String tenantId,
+                                        @Param("version") long version);
+
+    /**
+     * Moves the task to {@code status} in a single statement, provided its current status is one of {@code from}.
+     * Bumps the version like an entity update, so stale copies held elsewhere fail their optimistic check.
+     */
+    @Modifying
+    @Query("update Task t set t.status = :status, t.updatedAt = :updatedAt, t.version = t.version + 1 "
+            + "where t.id = :id and t.tenantId = :tenantId and t.status in :from")
+    int updateStatus(@Param("id") UUID id, @Param("tenantId") String tenantId, @Param("status") TaskStatus status,
+                     @Param("from") Collection<TaskStatus> from, @Param("updatedAt") Timestamp updatedAt);
+
+    @Query("select t.status from Task t where t.id = :id and t.tenantId = :tenantId")
+    Optional<TaskStatus> findStatusByIdAndTenantId(@Param("id") UUID id, @Param("tenantId") String tenantId);
+
+    @Modifying
+    @Query("delete from Task t where t.id in :ids and t.tenantId = :tenantId")
+    int deleteByIdInAndTenantId(@Param("ids") Collection<UUID> ids, @Param("tenantId") String tenantId);
+
+    @Query("select new com.challenge.taskapp.repository.TaskStatusView(t.id, t.status) from Task t "
+            + "where t.id in :ids and t.tenantId = :tenantId")
+    List<TaskStatusView> findStatusesByIdInAndTenantId(@Param("ids") Collection<UUID> ids, @Param("tenantId") String tenantId);
+
+    /**
+     * Tenants having tasks, native so the tenant discriminator is not applied. Only used to reconcile the status
+     * counters.
+     */
+    @Query(value = "SELECT DISTINCT TENANT_ID FROM TASKS", nativeQuery = true)
+    List<String> findTenants();
+
+    /**
+     * Tasks of {@code tenantId} per status, native so the tenant discriminator is not applied. Only used to reconcile
+     * the status counters.
+     */
+    @Query(value = "SELECT STATUS, COUNT(*) FROM TASKS WHERE TENANT_ID = :tenantId GROUP BY STATUS", nativeQuery = true)
+    List<Object[]> countByStatus(@Param("tenantId") String tenantId);
+
+    /**
+     * Tenants having tasks in {@code status}, native so the tenant discriminator is not applied. Only used to find the
+     * tenants to archive.
+     */
+    @Query(value = "SELECT DISTINCT TENANT_ID FROM TASKS WHERE STATUS = :status", nativeQuery = true)
+    List<String> findTenantsWithStatus(@Param("status") String status);
+
+    /**
+     * Oldest tasks of the current tenant in {@code status} and last changed before {@code before}. The rows stay locked
+     * until the transaction ends, so none can change between being copied to the archive and deleted.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t from Task t where t.status = :status and t.updatedAt < :before order by t.updatedAt, t.id")
+    List<Task> findToArchive(@Param("status") TaskStatus status, @Param("before") Timestamp before, Pageable pageable);
+
+    @Modifying
+    @Query(value = "INSERT INTO TASKS_ARCHIVE (ID, TITLE, DESCRIPTION, STATUS, CREATED_AT, UPDATED_AT, TENANT_ID, VERSION, "
+            + "ARCHIVED_AT) SELECT ID, TITLE, DESCRIPTION, STATUS, CREATED_AT, UPDATED_AT, TENANT_ID, VERSION, :archivedAt "
+            + "FROM TASKS WHERE ID IN (:ids) AND TENANT_ID = :tenantId", nativeQuery = true)
+    int copyToArchive(@Param("ids") Collection<UUID> ids, @Param("tenantId") String tenantId,
+                      @Param("archivedAt") Timestamp archivedAt);
+
+    /**
+     * Forward-only cursor over the tasks of the current tenant, read from the database in chunks of the fetch size.
+     * Must be consumed (and closed) inside a transaction.
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select t from Task t where (:status is null or t.status = :status) "
+            + "and (:updatedSince is null or t.updatedAt >= :updatedSince) order by t.createdAt, t.id")
+    Stream<Task> streamAll(@Param("status") TaskStatus status, @Param("updatedSince") Timestamp updatedSince);
+
+    @Query("select t from Task t where (t.updatedAt > :updatedAt or (t.updatedAt = :updatedAt and t.id > :id)) "
+            + "and t.updatedAt <= :until order by t.updatedAt, t.id")
+    List<Task> findChangedAfter(@Param("updatedAt") Timestamp updatedAt, @Param("id") UUID id,
+                                @Param("until") Timestamp until, Pageable pageable);
 }
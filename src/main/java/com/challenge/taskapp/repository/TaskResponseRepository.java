@@ -0,0 +1,66 @@
+package com.challenge.taskapp.repository;
+
+import com.challenge.taskapp.dto.TaskResponse;
+import com.challenge.taskapp.enums.TaskStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.NoRepositoryBean;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import java.sql.Timestamp;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Read paths of the task lists, shared by the live tasks ({@link TaskRepository}) and the live and archived ones
+ * ({@link TaskIncludingArchivedRepository}): {@code #{#entityName}} resolves to the entity of the repository.
+ */
+@NoRepositoryBean
+public interface TaskResponseRepository<T> extends Repository<T, UUID> {
+
+    /**
+     * Select clause of the read paths: rows go straight into {@link TaskResponse}, so no entity is hydrated, kept in
+     * the persistence context or snapshotted for dirty checking.
+     */
+    String SELECT_RESPONSE = "select new com.challenge.taskapp.dto.TaskResponse("
+            + "t.id, t.title, t.description, t.status, t.createdAt, t.updatedAt, t.version) from #{#entityName} t ";
+
+    @Query(value = SELECT_RESPONSE, countQuery = "select count(t) from #{#entityName} t")
+    Page<TaskResponse> findAllResponses(Pageable pageable);
+
+    @Query(value = SELECT_RESPONSE + "where t.status = :status",
+            countQuery = "select count(t) from #{#entityName} t where t.status = :status")
+    Page<TaskResponse> findResponsesByStatus(@Param("status") TaskStatus status, Pageable pageable);
+
+    // Same queries without a count, the page ends with a Slice's extra row instead
+
+    @Query(SELECT_RESPONSE)
+    Slice<TaskResponse> findResponseSlice(Pageable pageable);
+
+    @Query(SELECT_RESPONSE + "where t.status = :status")
+    Slice<TaskResponse> findResponseSliceByStatus(@Param("status") TaskStatus status, Pageable pageable);
+
+    @Query(SELECT_RESPONSE + "where t.id = :id")
+    Optional<TaskResponse> findResponseById(@Param("id") UUID id);
+
+    // Keyset (seek) queries: always ordered by (createdAt, id) and returned as a Slice so no count query is issued.
+
+    @Query(SELECT_RESPONSE + "order by t.createdAt, t.id")
+    Slice<TaskResponse> findFirstSlice(Pageable pageable);
+
+    @Query(SELECT_RESPONSE + "where t.createdAt > :createdAt or (t.createdAt = :createdAt and t.id > :id) "
+            + "order by t.createdAt, t.id")
+    Slice<TaskResponse> findSliceAfter(@Param("createdAt") Timestamp createdAt, @Param("id") UUID id, Pageable pageable);
+
+    @Query(SELECT_RESPONSE + "where t.status = :status order by t.createdAt, t.id")
+    Slice<TaskResponse> findFirstSliceByStatus(@Param("status") TaskStatus status, Pageable pageable);
+
+    @Query(SELECT_RESPONSE + "where t.status = :status "
+            + "and (t.createdAt > :createdAt or (t.createdAt = :createdAt and t.id > :id)) "
+            + "order by t.createdAt, t.id")
+    Slice<TaskResponse> findSliceByStatusAfter(@Param("status") TaskStatus status, @Param("createdAt") Timestamp createdAt,
+                                       @Param("id") UUID id, Pageable pageable);
+}
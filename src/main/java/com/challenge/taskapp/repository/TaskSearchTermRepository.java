@@ -0,0 +1,26 @@
+package com.challenge.taskapp.repository;
+
+import com.challenge.taskapp.model.TaskSearchTerm;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface TaskSearchTermRepository extends CrudRepository<TaskSearchTerm, TaskSearchTerm.Key> {
+
+    @Modifying
+    @Query("delete from TaskSearchTerm s where s.id.taskId in :taskIds and s.tenantId = :tenantId")
+    int deleteByTaskIdInAndTenantId(@Param("taskIds") Collection<UUID> taskIds, @Param("tenantId") String tenantId);
+
+    /**
+     * Number of tasks of the tenant containing each of {@code terms}, as (term, count) pairs. Terms no task contains
+     * are missing.
+     */
+    @Query("select s.id.term, count(s) from TaskSearchTerm s where s.id.term in :terms and s.tenantId = :tenantId "
+            + "group by s.id.term")
+    List<Object[]> countTasksByTerm(@Param("terms") Collection<String> terms, @Param("tenantId") String tenantId);
+}
@@ -0,0 +1,28 @@
+package com.challenge.taskapp.repository;
+
+import com.challenge.taskapp.enums.TaskStatus;
+import com.challenge.taskapp.model.TaskStatusCount;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface TaskStatusCountRepository extends CrudRepository<TaskStatusCount, TaskStatusCount.Key> {
+
+    @Query("select c from TaskStatusCount c where c.id.tenantId = :tenantId")
+    List<TaskStatusCount> findByTenantId(@Param("tenantId") String tenantId);
+
+    @Modifying
+    @Query("update TaskStatusCount c set c.taskCount = c.taskCount + :delta "
+            + "where c.id.tenantId = :tenantId and c.id.status = :status")
+    int addToCount(@Param("tenantId") String tenantId, @Param("status") TaskStatus status, @Param("delta") long delta);
+
+    @Modifying
+    @Query("update TaskStatusCount c set c.taskCount = :count where c.id.tenantId = :tenantId and c.id.status = :status")
+    int setCount(@Param("tenantId") String tenantId, @Param("status") TaskStatus status, @Param("count") long count);
+
+    @Query("select distinct c.id.tenantId from TaskStatusCount c")
+    List<String> findTenantIds();
+}
@@ -0,0 +1,10 @@
+package com.challenge.taskapp.repository;
+
+import com.challenge.taskapp.enums.TaskStatus;
+
+import java.util.UUID;
+
+/**
+ * Id and status of a task, read without loading the entity.
+ */
+public record TaskStatusView(UUID id, TaskStatus status) { }
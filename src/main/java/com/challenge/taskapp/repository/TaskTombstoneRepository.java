@@ -0,0 +1,27 @@
+package com.challenge.taskapp.repository;
+
+import com.challenge.taskapp.model.TaskTombstone;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.UUID;
+
+public interface TaskTombstoneRepository extends CrudRepository<TaskTombstone, UUID> {
+
+    @Query("select t from TaskTombstone t where (t.deletedAt > :deletedAt or (t.deletedAt = :deletedAt and t.taskId > :taskId)) "
+            + "and t.deletedAt <= :until order by t.deletedAt, t.taskId")
+    List<TaskTombstone> findDeletedAfter(@Param("deletedAt") Timestamp deletedAt, @Param("taskId") UUID taskId,
+                                         @Param("until") Timestamp until, Pageable pageable);
+
+    /**
+     * Removes the tombstones of every tenant stored in the current schema or database deleted before {@code before}.
+     */
+    @Modifying
+    @Query(value = "DELETE FROM TASK_TOMBSTONES WHERE DELETED_AT < :before", nativeQuery = true)
+    int deleteDeletedBefore(@Param("before") Timestamp before);
+}
@@ -0,0 +1,61 @@
+package com.challenge.taskapp.search;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Turns task text and search queries into index terms: lower case words without diacritics, split on anything that
+ * is not a letter or a digit. Documents and queries go through the same steps, so "Café" finds "cafe".
+ */
+public final class SearchTerms {
+
+    public static final int MAX_TERM_LENGTH = 64;
+    public static final int MAX_QUERY_TERMS = 8;
+
+    private static final int MIN_TERM_LENGTH = 2;
+    // A title word counts as much as this many description words
+    private static final int TITLE_WEIGHT = 2;
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+
+    private SearchTerms() {
+    }
+
+    /**
+     * Weighted frequency of every term of a task.
+     */
+    public static Map<String, Integer> ofTask(final String title, final String description) {
+        final Map<String, Integer> frequencies = new HashMap<>();
+        tokenize(title).forEach(term -> frequencies.merge(term, TITLE_WEIGHT, Integer::sum));
+        tokenize(description).forEach(term -> frequencies.merge(term, 1, Integer::sum));
+        return frequencies;
+    }
+
+    /**
+     * Distinct terms of a query, at most {@value #MAX_QUERY_TERMS}, in query order.
+     */
+    public static Set<String> ofQuery(final String query) {
+        return tokenize(query)
+                .distinct()
+                .limit(MAX_QUERY_TERMS)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    private static Stream<String> tokenize(final String text) {
+        if (text == null || text.isBlank()) {
+            return Stream.empty();
+        }
+        final String folded = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFKD)).replaceAll("");
+        return Arrays.stream(SEPARATORS.split(folded.toLowerCase(Locale.ROOT)))
+                .filter(term -> term.length() >= MIN_TERM_LENGTH)
+                .map(term -> term.length() > MAX_TERM_LENGTH ? term.substring(0, MAX_TERM_LENGTH) : term);
+    }
+}
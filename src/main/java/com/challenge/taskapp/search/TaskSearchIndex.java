@@ -0,0 +1,93 @@
+package com.challenge.taskapp.search;
+
+import com.challenge.taskapp.model.Task;
+import com.challenge.taskapp.model.TaskSearchTerm;
+import com.challenge.taskapp.repository.TaskSearchTermRepository;
+import com.challenge.taskapp.tenant.TenantIdentifierResolver;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Inverted index of task titles and descriptions, stored in TASK_SEARCH_TERMS and written in the transaction of the
+ * task change, so search results are never out of date or ahead of the tasks. A search reads the postings of the
+ * query terms only, its cost depends on how many tasks of the tenant contain them, not on the size of TASKS.
+ * <p>
+ * Results are ranked by the weighted frequency of the query terms (title words count double), each term weighted by
+ * its rarity relative to the most common query term, {@code 1 + ln(maxCount / count)}, so rare words dominate.
+ */
+@Component
+@RequiredArgsConstructor
+public class TaskSearchIndex {
+
+    private final TaskSearchTermRepository taskSearchTermRepository;
+    private final TenantIdentifierResolver tenantIdentifierResolver;
+    private final EntityManager entityManager;
+
+    public void index(final Collection<Task> tasks) {
+        final List<TaskSearchTerm> postings = new ArrayList<>();
+        for (final Task task : tasks) {
+            SearchTerms.ofTask(task.getTitle(), task.getDescription())
+                    .forEach((term, frequency) -> postings.add(new TaskSearchTerm(task.getId(), term, frequency)));
+        }
+        if (!postings.isEmpty()) {
+            taskSearchTermRepository.saveAll(postings);
+        }
+    }
+
+    public void reindex(final Collection<Task> tasks) {
+        remove(tasks.stream().map(Task::getId).toList());
+        index(tasks);
+    }
+
+    public void remove(final Collection<UUID> taskIds) {
+        if (!taskIds.isEmpty()) {
+            taskSearchTermRepository.deleteByTaskIdInAndTenantId(taskIds,
+                    tenantIdentifierResolver.resolveCurrentTenantIdentifier());
+        }
+    }
+
+    /**
+     * Ids of the tasks of the current tenant containing any of {@code terms}, best match first.
+     */
+    public List<UUID> search(final Set<String> terms, final int offset, final int limit) {
+        final String tenantId = tenantIdentifierResolver.resolveCurrentTenantIdentifier();
+        final Map<String, Long> counts = new HashMap<>();
+        for (final Object[] row : taskSearchTermRepository.countTasksByTerm(terms, tenantId)) {
+            counts.put((String) row[0], (Long) row[1]);
+        }
+        if (counts.isEmpty()) {
+            return List.of();
+        }
+
+        // The weights differ per query, they are bound as parameters of a CASE so the statement text only depends on
+        // the number of terms
+        final List<String> matched = new ArrayList<>(counts.keySet());
+        final StringBuilder score = new StringBuilder("sum(s.frequency * case s.id.term");
+        for (int i = 0; i < matched.size(); i++) {
+            score.append(" when :term").append(i).append(" then :weight").append(i);
+        }
+        score.append(" else 0.0 end)");
+
+        final TypedQuery<UUID> query = entityManager.createQuery(
+                "select s.id.taskId from TaskSearchTerm s where s.id.term in :terms and s.tenantId = :tenantId "
+                        + "group by s.id.taskId order by " + score + " desc, s.id.taskId", UUID.class);
+        query.setParameter("terms", matched);
+        query.setParameter("tenantId", tenantId);
+        final long maxCount = counts.values().stream().mapToLong(Long::longValue).max().orElseThrow();
+        for (int i = 0; i < matched.size(); i++) {
+            query.setParameter("term" + i, matched.get(i));
+            query.setParameter("weight" + i, 1.0 + Math.log((double) maxCount / counts.get(matched.get(i))));
+        }
+        return query.setFirstResult(offset).setMaxResults(limit).getResultList();
+    }
+}
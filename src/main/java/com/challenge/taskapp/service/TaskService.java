@@ -1,22 +1,52 @@
 package com.challenge.taskapp.service;
 
 import com.challenge.taskapp.dto.AddTaskRequest;
+import com.challenge.taskapp.dto.BatchTasksResponse;
+import com.challenge.taskapp.dto.DeleteTasksResponse;
+import com.challenge.taskapp.dto.TaskChangesResponse;
+import com.challenge.taskapp.dto.TaskCursor;
+import com.challenge.taskapp.dto.TaskPageResponse;
 import com.challenge.taskapp.dto.TaskResponse;
+import com.challenge.taskapp.dto.TaskStatsResponse;
+import com.challenge.taskapp.dto.UpdateTaskBatchItem;
 import com.challenge.taskapp.dto.UpdateTaskRequest;
 import com.challenge.taskapp.enums.TaskStatus;
+import com.challenge.taskapp.exception.BatchRejectedException;
+import com.challenge.taskapp.exception.InvalidSearchQueryException;
 import com.challenge.taskapp.exception.NotFoundException;
-import org.springframework.data.domain.Page;
+import com.challenge.taskapp.exception.PreconditionFailedException;
+import com.challenge.taskapp.exception.StatusUpdateException;
+import com.challenge.taskapp.ingest.QueuedTask;
 import org.springframework.data.domain.Pageable;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 public interface TaskService {
 
-    Page<TaskResponse> getAllPaged(Pageable pageable);
-    Page<TaskResponse> getAllByStatus(TaskStatus status, Pageable pageable);
+    TaskPageResponse getAllPaged(Pageable pageable, boolean includeArchived, boolean withTotal);
+    TaskPageResponse getAllByStatus(TaskStatus status, Pageable pageable, boolean includeArchived, boolean withTotal);
+    TaskPageResponse getAllAfter(TaskCursor after, TaskStatus status, int size, boolean includeArchived);
     TaskResponse find(UUID id) throws NotFoundException;
+    void export(TaskStatus status, Instant updatedSince, Consumer<TaskResponse> consumer);
+    TaskChangesResponse getChanges(TaskCursor cursor, Instant since, int size);
+    TaskPageResponse search(String query, int page, int size) throws InvalidSearchQueryException;
+    long getListVersion();
+    TaskStatsResponse getStats();
     TaskResponse create(AddTaskRequest addTaskRequest);
     TaskResponse update(UUID uuid, UpdateTaskRequest updateTaskRequest) throws NotFoundException, IllegalArgumentException;
-    void delete(UUID id);
+    TaskResponse update(UUID uuid, UpdateTaskRequest updateTaskRequest, String expectedVersionTag)
+            throws NotFoundException, IllegalArgumentException, PreconditionFailedException;
+    void updateStatus(UUID id, TaskStatus status) throws NotFoundException, StatusUpdateException;
+    BatchTasksResponse createAll(List<AddTaskRequest> addTaskRequests, boolean atomic) throws BatchRejectedException;
+    void createQueued(List<QueuedTask> tasks);
+    int archive(Instant doneBefore, int limit);
+    BatchTasksResponse updateAll(List<UpdateTaskBatchItem> updateTaskItems, boolean atomic) throws BatchRejectedException;
+    void delete(UUID id) throws NotFoundException;
+    void delete(UUID id, String expectedVersionTag) throws NotFoundException, PreconditionFailedException;
+    DeleteTasksResponse deleteAll(Collection<UUID> ids);
 
 }
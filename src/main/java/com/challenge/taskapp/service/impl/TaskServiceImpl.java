@@ -1,71 +1,559 @@
 package com.challenge.taskapp.service.impl;
 
+import com.challenge.taskapp.cache.TaskCache;
 import com.challenge.taskapp.dto.AddTaskRequest;
+import com.challenge.taskapp.dto.BatchItemResult;
+import com.challenge.taskapp.dto.BatchTasksResponse;
+import com.challenge.taskapp.dto.DeleteTasksResponse;
+import com.challenge.taskapp.dto.TaskChange;
+import com.challenge.taskapp.dto.TaskChangesResponse;
+import com.challenge.taskapp.dto.TaskCursor;
+import com.challenge.taskapp.dto.TaskPageResponse;
 import com.challenge.taskapp.dto.TaskResponse;
+import com.challenge.taskapp.dto.TaskStatsResponse;
+import com.challenge.taskapp.dto.UpdateTaskBatchItem;
 import com.challenge.taskapp.dto.UpdateTaskRequest;
+import com.challenge.taskapp.enums.BatchItemStatus;
+import com.challenge.taskapp.enums.TaskChangeType;
 import com.challenge.taskapp.enums.TaskStatus;
+import com.challenge.taskapp.exception.BatchRejectedException;
+import com.challenge.taskapp.exception.InvalidCursorException;
+import com.challenge.taskapp.exception.InvalidSearchQueryException;
 import com.challenge.taskapp.exception.NotFoundException;
+import com.challenge.taskapp.exception.PreconditionFailedException;
+import com.challenge.taskapp.exception.StatusUpdateException;
+import com.challenge.taskapp.ingest.QueuedTask;
 import com.challenge.taskapp.model.Task;
+import com.challenge.taskapp.model.TaskTombstone;
+import com.challenge.taskapp.model.TaskVersionTag;
+import com.challenge.taskapp.repository.ArchivedTaskRepository;
+import com.challenge.taskapp.repository.TaskIncludingArchivedRepository;
 import com.challenge.taskapp.repository.TaskRepository;
+import com.challenge.taskapp.repository.TaskResponseRepository;
+import com.challenge.taskapp.repository.TaskStatusView;
+import com.challenge.taskapp.repository.TaskTombstoneRepository;
+import com.challenge.taskapp.search.SearchTerms;
+import com.challenge.taskapp.search.TaskSearchIndex;
 import com.challenge.taskapp.service.TaskService;
-import lombok.AllArgsConstructor;
-import org.springframework.data.domain.Page;
+import com.challenge.taskapp.stats.TaskStatusCounters;
+import com.challenge.taskapp.tenant.TenantIdentifierResolver;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
-@AllArgsConstructor
-public final class TaskServiceImpl implements TaskService {
+@RequiredArgsConstructor
+public class TaskServiceImpl implements TaskService {
+
+    private static final Comparator<TaskChange> CHANGE_ORDER = Comparator
+            .comparing(TaskChange::changedAt)
+            .thenComparing(TaskChange::id, (a, b) -> {
+                // Same order as the database: UUIDs compare as unsigned 128-bit values
+                final int high = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+                return high != 0 ? high : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+            });
 
     private final TaskRepository taskRepository;
+    private final TaskIncludingArchivedRepository taskIncludingArchivedRepository;
+    private final ArchivedTaskRepository archivedTaskRepository;
+    private final TaskTombstoneRepository taskTombstoneRepository;
+    private final TenantIdentifierResolver tenantIdentifierResolver;
+    private final Validator validator;
+    private final TaskCache taskCache;
+    private final EntityManager entityManager;
+    private final TaskSearchIndex taskSearchIndex;
+    private final TaskStatusCounters taskStatusCounters;
+
+    /**
+     * Changes newer than this are not served yet: a transaction may still commit a change stamped before that time,
+     * which a client that already moved its watermark past it would miss.
+     */
+    @Value("${app.changes.visibility-lag:PT5S}")
+    private Duration changesVisibilityLag;
+
+    /**
+     * Tombstones are kept this long (see {@code TaskTombstonePurger}), older change feed cursors are refused.
+     */
+    @Value("${app.changes.retention:P30D}")
+    private Duration changesRetention;
 
     @Override
-    public Page<TaskResponse> getAllPaged(Pageable pageable) {
-        return taskRepository.findAll(pageable).map(TaskResponse::new);
+    @Transactional(readOnly = true)
+    public TaskPageResponse getAllPaged(final Pageable pageable, final boolean includeArchived, final boolean withTotal) {
+        final PageQuery query = new PageQuery(null, pageable, includeArchived, withTotal);
+        return taskCache.getList(query, () -> {
+            final TaskResponseRepository<?> responses = responses(includeArchived);
+            return withTotal
+                    ? TaskPageResponse.of(responses.findAllResponses(pageable))
+                    : TaskPageResponse.withoutTotal(responses.findResponseSlice(pageable));
+        });
     }
 
     @Override
-    public Page<TaskResponse> getAllByStatus(TaskStatus status, Pageable pageable) {
-        return taskRepository.findByStatus(status, pageable).map(TaskResponse::new);
+    @Transactional(readOnly = true)
+    public TaskPageResponse getAllByStatus(final TaskStatus status, final Pageable pageable, final boolean includeArchived,
+                                           final boolean withTotal) {
+        final PageQuery query = new PageQuery(status, pageable, includeArchived, withTotal);
+        return taskCache.getList(query, () -> {
+            final TaskResponseRepository<?> responses = responses(includeArchived);
+            return withTotal
+                    ? TaskPageResponse.of(responses.findResponsesByStatus(status, pageable))
+                    : TaskPageResponse.withoutTotal(responses.findResponseSliceByStatus(status, pageable));
+        });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TaskPageResponse getAllAfter(final TaskCursor after, final TaskStatus status, final int size,
+                                        final boolean includeArchived) {
+        final SliceQuery query = new SliceQuery(after, status, size, includeArchived);
+        return taskCache.getList(query, () -> loadSliceAfter(responses(includeArchived), after, status, size));
+    }
+
+    private TaskPageResponse loadSliceAfter(final TaskResponseRepository<?> responses, final TaskCursor after,
+                                            final TaskStatus status, final int size) {
+        final Pageable limit = PageRequest.of(0, size);
+        final Slice<TaskResponse> slice;
+        if (status == null) {
+            slice = after == null
+                    ? responses.findFirstSlice(limit)
+                    : responses.findSliceAfter(after.timestamp(), after.id(), limit);
+        } else {
+            slice = after == null
+                    ? responses.findFirstSliceByStatus(status, limit)
+                    : responses.findSliceByStatusAfter(status, after.timestamp(), after.id(), limit);
+        }
+
+        final List<TaskResponse> content = slice.getContent();
+        final String nextCursor = slice.hasNext() && !content.isEmpty()
+                ? new TaskCursor(content.get(content.size() - 1)).encode()
+                : null;
+        return TaskPageResponse.ofKeyset(content, size, slice.hasNext(), nextCursor);
+    }
+
+    /**
+     * Live tasks only, or live and archived ones through the TASKS_INCLUDING_ARCHIVED view.
+     */
+    private TaskResponseRepository<?> responses(final boolean includeArchived) {
+        return includeArchived ? taskIncludingArchivedRepository : taskRepository;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public TaskResponse find(final UUID id) {
-        return taskRepository.findById(id).map(TaskResponse::new).orElseThrow(NotFoundException::new);
+        // An archived task is still found by id, looked up in the archive only when it is not a live one
+        return taskCache.getTask(id, () -> taskRepository.findResponseById(id)
+                .or(() -> archivedTaskRepository.findResponseById(id))
+                .orElseThrow(NotFoundException::new));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void export(final TaskStatus status, final Instant updatedSince, final Consumer<TaskResponse> consumer) {
+        final Timestamp since = updatedSince == null ? null : Timestamp.from(updatedSince);
+        try (Stream<Task> tasks = taskRepository.streamAll(status, since)) {
+            tasks.forEach(task -> {
+                consumer.accept(new TaskResponse(task));
+                // Keeps the persistence context empty, so memory does not grow with the tenant size
+                entityManager.detach(task);
+            });
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TaskChangesResponse getChanges(final TaskCursor cursor, final Instant since, final int size) {
+        final Instant now = Instant.now();
+        if (cursor != null && cursor.timestamp().toInstant().isBefore(now.minus(changesRetention))) {
+            // Tombstones of that age may be purged already, the deletes since the cursor can no longer all be reported
+            throw new InvalidCursorException("Cursor expired, restart the change feed without cursor");
+        }
+        final TaskCursor after = cursor != null
+                ? cursor
+                : new TaskCursor(Timestamp.from(since != null ? since : Instant.EPOCH), TaskCursor.NIL_ID);
+        final Timestamp until = Timestamp.from(now.minus(changesVisibilityLag));
+        final Pageable limit = PageRequest.of(0, size + 1);
+
+        // Both sources are read in (timestamp, id) order past the cursor, then merged: size + 1 from each is enough
+        final List<TaskChange> changes = new ArrayList<>();
+        for (final Task task : taskRepository.findChangedAfter(after.timestamp(), after.id(), until, limit)) {
+            final TaskChangeType type = task.getCreatedAt().after(after.timestamp()) ? TaskChangeType.CREATED : TaskChangeType.UPDATED;
+            changes.add(new TaskChange(task.getId(), type, task.getUpdatedAt(), new TaskResponse(task)));
+        }
+        for (final TaskTombstone tombstone : taskTombstoneRepository.findDeletedAfter(after.timestamp(), after.id(), until, limit)) {
+            changes.add(new TaskChange(tombstone.getTaskId(), TaskChangeType.DELETED, tombstone.getDeletedAt(), null));
+        }
+        changes.sort(CHANGE_ORDER);
+
+        final boolean hasMore = changes.size() > size;
+        final List<TaskChange> page = hasMore ? List.copyOf(changes.subList(0, size)) : changes;
+        final TaskCursor next = page.isEmpty()
+                ? after
+                : new TaskCursor(page.get(page.size() - 1).changedAt(), page.get(page.size() - 1).id());
+        return new TaskChangesResponse(page, hasMore, next.encode());
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public TaskPageResponse search(final String query, final int page, final int size) {
+        final Set<String> terms = SearchTerms.ofQuery(query);
+        if (terms.isEmpty()) {
+            throw new InvalidSearchQueryException();
+        }
+        final List<UUID> ids = taskSearchIndex.search(terms, page * size, size + 1);
+        final boolean hasNext = ids.size() > size;
+        final List<UUID> pageIds = hasNext ? ids.subList(0, size) : ids;
+
+        final Map<UUID, Task> tasks = new HashMap<>();
+        taskRepository.findAllById(pageIds).forEach(task -> tasks.put(task.getId(), task));
+        final List<TaskResponse> content = pageIds.stream()
+                .map(tasks::get)
+                .filter(Objects::nonNull)
+                .map(TaskResponse::new)
+                .toList();
+        return new TaskPageResponse(content, page, size, null, hasNext, null);
+    }
+
+    @Override
+    public long getListVersion() {
+        return taskCache.listVersion();
+    }
+
+    @Override
+    public TaskStatsResponse getStats() {
+        return TaskStatsResponse.of(taskStatusCounters.counts());
+    }
+
+    @Override
+    @Transactional
     public TaskResponse update(final UUID uuid, final UpdateTaskRequest task) {
+        return update(uuid, task, null);
+    }
+
+    @Override
+    @Transactional
+    public TaskResponse update(final UUID uuid, final UpdateTaskRequest task, final String expectedVersionTag) {
         if (uuid == null || task == null) {
             throw new IllegalArgumentException("Invalid input");
         }
         final Task existing = taskRepository.findById(uuid).orElseThrow(NotFoundException::new);
+        checkVersionTag(existing, expectedVersionTag);
+        final String previousTitle = existing.getTitle();
+        final String previousDescription = existing.getDescription();
+        final TaskStatus previousStatus = existing.getStatus();
+        applyUpdate(existing, task);
 
-        if (task.title() != null) {
-            existing.setTitle(task.title());
+        // The UPDATE is conditional on the version read above and fails on a concurrent write. It is flushed now so
+        // the response carries the new version and timestamp.
+        final Task saved = taskRepository.save(existing);
+        taskRepository.flush();
+        if (!Objects.equals(previousTitle, saved.getTitle()) || !Objects.equals(previousDescription, saved.getDescription())) {
+            taskSearchIndex.reindex(List.of(saved));
         }
-        if (task.description() != null) {
-            existing.setDescription(task.description());
+        taskStatusCounters.move(previousStatus, saved.getStatus());
+        taskCache.evict(List.of(uuid));
+        return new TaskResponse(saved);
+    }
+
+    @Override
+    @Transactional
+    public void updateStatus(final UUID id, final TaskStatus status) {
+        final String tenantId = tenantIdentifierResolver.resolveCurrentTenantIdentifier();
+        final Timestamp now = Timestamp.from(Instant.now());
+        if (taskRepository.updateStatus(id, tenantId, status, status.predecessors(), now) == 1) {
+            // The UPDATE does not tell which status the task left, the counters recount the tenant instead
+            taskStatusCounters.recountLater();
+            taskCache.evict(List.of(id));
+            return;
         }
+        // Only a refused transition pays for a read, to tell a missing task from a forbidden move
+        final TaskStatus current = taskRepository.findStatusByIdAndTenantId(id, tenantId)
+                .orElseThrow(NotFoundException::new);
+        throw new StatusUpdateException("Cannot change status from " + current + " to " + status);
+    }
 
-        if (task.status() != null) {
-            existing.setStatus(task.status());
+    @Override
+    @Transactional
+    public TaskResponse create(final AddTaskRequest taskRequest) {
+        final Task taskCreated = taskRepository.save(new Task(taskRequest.title(), taskRequest.description()));
+        taskSearchIndex.index(List.of(taskCreated));
+        taskStatusCounters.add(taskCreated.getStatus(), 1);
+        taskCache.evict(List.of());
+        return new TaskResponse(taskCreated);
+    }
+
+    @Override
+    @Transactional
+    public BatchTasksResponse createAll(final List<AddTaskRequest> requests, final boolean atomic) {
+        final BatchItemResult[] results = new BatchItemResult[requests.size()];
+        final List<Integer> indexes = new ArrayList<>();
+        final List<Task> toSave = new ArrayList<>();
+
+        for (int i = 0; i < requests.size(); i++) {
+            final AddTaskRequest request = requests.get(i);
+            final String error = validate(request);
+            if (error != null) {
+                results[i] = BatchItemResult.failure(i, null, error);
+            } else {
+                indexes.add(i);
+                toSave.add(new Task(request.title(), request.description()));
+            }
         }
+        rejectIfNeeded(results, atomic);
 
-        return new TaskResponse(taskRepository.save(existing));
+        // Inserts are sent as JDBC batches on commit (hibernate.jdbc.batch_size / order_inserts)
+        final List<Task> saved = new ArrayList<>();
+        taskRepository.saveAll(toSave).forEach(saved::add);
+        for (int i = 0; i < saved.size(); i++) {
+            results[indexes.get(i)] = BatchItemResult.success(indexes.get(i), BatchItemStatus.CREATED, new TaskResponse(saved.get(i)));
+        }
+        if (!saved.isEmpty()) {
+            taskSearchIndex.index(saved);
+            saved.forEach(task -> taskStatusCounters.add(task.getStatus(), 1));
+            taskCache.evict(List.of());
+        }
+        return new BatchTasksResponse(Arrays.asList(results));
     }
 
+    /**
+     * Persisted rather than saved: the ids are already assigned, {@code save} would take the tasks for existing ones
+     * and SELECT each of them first.
+     */
     @Override
-    public TaskResponse create(final AddTaskRequest taskRequest) {
-        final Task taskCreated = new Task(taskRequest.title(), taskRequest.description());
-        return new TaskResponse(taskRepository.save(taskCreated));
+    @Transactional
+    public void createQueued(final List<QueuedTask> tasks) {
+        final List<Task> created = new ArrayList<>(tasks.size());
+        for (final QueuedTask queued : tasks) {
+            final Task task = new Task(queued.request().title(), queued.request().description());
+            task.setId(queued.id());
+            entityManager.persist(task);
+            created.add(task);
+        }
+        taskSearchIndex.index(created);
+        created.forEach(task -> taskStatusCounters.add(task.getStatus(), 1));
+        taskCache.evict(List.of());
+    }
+
+    /**
+     * The tasks are locked from the SELECT to the commit, so none can change between being copied and deleted. Archived
+     * tasks leave the search index, the status counters and the change feed, which reports them neither updated nor
+     * deleted.
+     */
+    @Override
+    @Transactional
+    public int archive(final Instant doneBefore, final int limit) {
+        final String tenantId = tenantIdentifierResolver.resolveCurrentTenantIdentifier();
+        final List<UUID> ids = taskRepository.findToArchive(TaskStatus.DONE, Timestamp.from(doneBefore), PageRequest.of(0, limit))
+                .stream()
+                .map(Task::getId)
+                .toList();
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        taskRepository.copyToArchive(ids, tenantId, Timestamp.from(Instant.now()));
+        taskRepository.deleteByIdInAndTenantId(ids, tenantId);
+        taskStatusCounters.add(TaskStatus.DONE, -ids.size());
+        taskSearchIndex.remove(ids);
+        taskCache.evict(ids);
+        return ids.size();
     }
 
     @Override
+    @Transactional
+    public BatchTasksResponse updateAll(final List<UpdateTaskBatchItem> items, final boolean atomic) {
+        final BatchItemResult[] results = new BatchItemResult[items.size()];
+
+        final Set<UUID> ids = new HashSet<>();
+        for (int i = 0; i < items.size(); i++) {
+            final UpdateTaskBatchItem item = items.get(i);
+            final String error = validate(item);
+            if (error != null) {
+                results[i] = BatchItemResult.failure(i, item == null ? null : item.id(), error);
+            } else if (!ids.add(item.id())) {
+                // Updates of the same task are not applied in sequence, so only its first item is
+                results[i] = BatchItemResult.failure(i, item.id(), "Field: id -> appears more than once in the batch");
+            }
+        }
+
+        // A single SELECT ... IN for the whole batch, the updates are flushed as JDBC batches on commit
+        final Map<UUID, Task> existing = new HashMap<>();
+        taskRepository.findAllById(ids).forEach(task -> existing.put(task.getId(), task));
+
+        final List<Integer> updatedIndexes = new ArrayList<>();
+        final List<Task> textChanged = new ArrayList<>();
+        for (int i = 0; i < items.size(); i++) {
+            if (results[i] != null) {
+                continue;
+            }
+            final UpdateTaskBatchItem item = items.get(i);
+            final Task task = existing.get(item.id());
+            if (task == null) {
+                results[i] = BatchItemResult.failure(i, item.id(), new NotFoundException().getMessage());
+                continue;
+            }
+            try {
+                final String previousTitle = task.getTitle();
+                final String previousDescription = task.getDescription();
+                final TaskStatus previousStatus = task.getStatus();
+                applyUpdate(task, item.task());
+                taskStatusCounters.move(previousStatus, task.getStatus());
+                updatedIndexes.add(i);
+                if (!Objects.equals(previousTitle, task.getTitle()) || !Objects.equals(previousDescription, task.getDescription())) {
+                    textChanged.add(task);
+                }
+            } catch (StatusUpdateException e) {
+                results[i] = BatchItemResult.failure(i, item.id(), e.getMessage());
+            }
+        }
+        rejectIfNeeded(results, atomic);
+        if (updatedIndexes.isEmpty()) {
+            return new BatchTasksResponse(Arrays.asList(results));
+        }
+
+        // Flushed before the results are built, so they carry the new version and timestamp like update() does
+        taskRepository.flush();
+        final List<UUID> updated = new ArrayList<>(updatedIndexes.size());
+        for (final int i : updatedIndexes) {
+            final Task task = existing.get(items.get(i).id());
+            results[i] = BatchItemResult.success(i, BatchItemStatus.UPDATED, new TaskResponse(task));
+            updated.add(task.getId());
+        }
+        if (!textChanged.isEmpty()) {
+            taskSearchIndex.reindex(textChanged);
+        }
+        taskCache.evict(updated);
+        return new BatchTasksResponse(Arrays.asList(results));
+    }
+
+    @Override
+    @Transactional
     public void delete(final UUID id) {
-        taskRepository.findById(id).orElseThrow(NotFoundException::new);
-        taskRepository.deleteById(id);
+        delete(id, null);
+    }
+
+    @Override
+    @Transactional
+    public void delete(final UUID id, final String expectedVersionTag) {
+        final String tenantId = tenantIdentifierResolver.resolveCurrentTenantIdentifier();
+        final TaskStatus status;
+        if (expectedVersionTag == null) {
+            // The row stays locked from the read to the DELETE, so the counters are decremented for the status removed
+            status = taskRepository.findStatusForUpdate(id, tenantId)
+                    .map(TaskStatus::valueOf)
+                    .orElseThrow(NotFoundException::new);
+            taskRepository.deleteByIdAndTenantId(id, tenantId);
+        } else {
+            // The precondition needs the current state, the DELETE is then conditional on it so nothing can slip in between
+            final Task existing = taskRepository.findById(id).orElseThrow(NotFoundException::new);
+            checkVersionTag(existing, expectedVersionTag);
+            if (taskRepository.deleteByIdAndTenantIdAndVersion(id, tenantId, existing.getVersion()) == 0) {
+                throw new PreconditionFailedException();
+            }
+            status = existing.getStatus();
+        }
+        taskStatusCounters.add(status, -1);
+        taskTombstoneRepository.save(new TaskTombstone(id));
+        taskSearchIndex.remove(List.of(id));
+        taskCache.evict(List.of(id));
+    }
+
+    @Override
+    @Transactional
+    public DeleteTasksResponse deleteAll(final Collection<UUID> ids) {
+        final String tenantId = tenantIdentifierResolver.resolveCurrentTenantIdentifier();
+        final Set<UUID> requested = new LinkedHashSet<>(ids);
+
+        // One statement to learn which ids exist for this tenant and one to delete them, whatever the batch size
+        final List<TaskStatusView> found = taskRepository.findStatusesByIdInAndTenantId(requested, tenantId);
+        final Set<UUID> existing = new HashSet<>();
+        found.forEach(task -> existing.add(task.id()));
+        if (!existing.isEmpty()) {
+            taskRepository.deleteByIdInAndTenantId(existing, tenantId);
+            found.forEach(task -> taskStatusCounters.add(task.status(), -1));
+            taskTombstoneRepository.saveAll(existing.stream().map(TaskTombstone::new).toList());
+            taskSearchIndex.remove(existing);
+            taskCache.evict(existing);
+        }
+
+        final List<UUID> deleted = requested.stream().filter(existing::contains).toList();
+        final List<UUID> notFound = requested.stream().filter(id -> !existing.contains(id)).toList();
+        return new DeleteTasksResponse(deleted, notFound);
+    }
+
+    /**
+     * The status goes first because it is the only change that can be refused, so a refused update leaves the task
+     * untouched.
+     */
+    private void applyUpdate(final Task existing, final UpdateTaskRequest task) {
+        if (task.status() != null) {
+            existing.setStatus(task.status());
+        }
+
+        if (task.title() != null) {
+            existing.setTitle(task.title());
+        }
+        if (task.description() != null) {
+            existing.setDescription(task.description());
+        }
     }
+
+    private void checkVersionTag(final Task existing, final String expectedVersionTag) {
+        if (expectedVersionTag != null && !expectedVersionTag.equals(TaskVersionTag.of(existing))) {
+            throw new PreconditionFailedException();
+        }
+    }
+
+    private String validate(final Object item) {
+        if (item == null) {
+            return "item cannot be null";
+        }
+        final Set<ConstraintViolation<Object>> violations = validator.validate(item);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> "Field: " + violation.getPropertyPath() + " -> " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    private void rejectIfNeeded(final BatchItemResult[] results, final boolean atomic) {
+        if (!atomic) {
+            return;
+        }
+        final List<BatchItemResult> failures = Arrays.stream(results).filter(Objects::nonNull).toList();
+        if (!failures.isEmpty()) {
+            throw new BatchRejectedException(failures);
+        }
+    }
+
+    private record PageQuery(TaskStatus status, Pageable pageable, boolean includeArchived, boolean withTotal) { }
+
+    private record SliceQuery(TaskCursor after, TaskStatus status, int size, boolean includeArchived) { }
 }
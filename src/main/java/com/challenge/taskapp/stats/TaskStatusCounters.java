@@ -0,0 +1,246 @@
+package com.challenge.taskapp.stats;
+
+import com.challenge.taskapp.enums.TaskStatus;
+import com.challenge.taskapp.model.TaskStatusCount;
+import com.challenge.taskapp.repository.TaskRepository;
+import com.challenge.taskapp.repository.TaskStatusCountRepository;
+import com.challenge.taskapp.tenant.TenancyProperties;
+import com.challenge.taskapp.tenant.TenantContext;
+import com.challenge.taskapp.tenant.TenantIdentifierResolver;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Number of tasks per tenant and status, readable in constant time.
+ * <p>
+ * Committed changes are added to per-tenant {@link LongAdder}s, so writers never contend on a counter row. A job
+ * adds them to the TASK_STATUS_COUNTS table every {@code app.stats.flush-interval}, where the other instances pick
+ * them up. Reads combine the stored counts (cached for one flush interval) with the changes not flushed yet.
+ * <p>
+ * Counts can drift: deltas lost in a crash, a change committing while its tenant is recounted, or a recount
+ * overlapping unflushed changes of another instance. Every {@code app.stats.reconcile-interval} the table is recounted
+ * from TASKS, which bounds the drift in time.
+ * <p>
+ * Writes that do not know the status a task had (a conditional status UPDATE) mark the tenant instead, and the next
+ * flush recounts it: one count query per tenant and flush, however many tasks changed.
+ * <p>
+ * The counts of a tenant are stored next to its tasks: in the shared TASK_STATUS_COUNTS table, or in the one of its
+ * own schema or database for an isolated tenant (see {@link TenancyProperties}).
+ */
+@Slf4j
+@Component
+public class TaskStatusCounters {
+
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+
+    private final TaskStatusCountRepository taskStatusCountRepository;
+    private final TaskRepository taskRepository;
+    private final TenantIdentifierResolver tenantIdentifierResolver;
+    private final TenancyProperties tenancyProperties;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<String, LongAdder[]> pending = new ConcurrentHashMap<>();
+    private final Set<String> stale = ConcurrentHashMap.newKeySet();
+    private final Cache<String, long[]> stored;
+
+    public TaskStatusCounters(final TaskStatusCountRepository taskStatusCountRepository,
+                              final TaskRepository taskRepository,
+                              final TenantIdentifierResolver tenantIdentifierResolver,
+                              final TenancyProperties tenancyProperties,
+                              final PlatformTransactionManager transactionManager,
+                              @Value("${app.stats.flush-interval:PT5S}") final Duration flushInterval) {
+        this.taskStatusCountRepository = taskStatusCountRepository;
+        this.taskRepository = taskRepository;
+        this.tenantIdentifierResolver = tenantIdentifierResolver;
+        this.tenancyProperties = tenancyProperties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.stored = Caffeine.newBuilder()
+                .expireAfterWrite(flushInterval)
+                .build();
+    }
+
+    /**
+     * Counts {@code delta} tasks in {@code status} for the current tenant, once the current transaction commits.
+     */
+    public void add(final TaskStatus status, final long delta) {
+        final LongAdder[] counters = pending.computeIfAbsent(tenantIdentifierResolver.resolveCurrentTenantIdentifier(),
+                tenant -> newCounters());
+        afterCommit(() -> counters[status.ordinal()].add(delta));
+    }
+
+    public void move(final TaskStatus from, final TaskStatus to) {
+        if (from != to) {
+            add(from, -1);
+            add(to, 1);
+        }
+    }
+
+    /**
+     * Recounts the current tenant at the next flush, once the current transaction commits.
+     */
+    public void recountLater() {
+        final String tenant = tenantIdentifierResolver.resolveCurrentTenantIdentifier();
+        afterCommit(() -> stale.add(tenant));
+    }
+
+    /**
+     * Tasks of the current tenant per status, every status included.
+     */
+    public Map<TaskStatus, Long> counts() {
+        final String tenant = tenantIdentifierResolver.resolveCurrentTenantIdentifier();
+        final long[] base = stored.get(tenant, this::load);
+        final LongAdder[] counters = pending.get(tenant);
+        final Map<TaskStatus, Long> counts = new EnumMap<>(TaskStatus.class);
+        for (final TaskStatus status : STATUSES) {
+            final long count = base[status.ordinal()] + (counters == null ? 0 : counters[status.ordinal()].sum());
+            // A delete seen here before the matching create of another instance was flushed
+            counts.put(status, Math.max(0, count));
+        }
+        return counts;
+    }
+
+    @Scheduled(fixedDelayString = "${app.stats.flush-interval:PT5S}")
+    public synchronized void flush() {
+        pending.forEach((tenant, counters) -> {
+            final long[] deltas = new long[STATUSES.length];
+            boolean changed = false;
+            for (final TaskStatus status : STATUSES) {
+                deltas[status.ordinal()] = counters[status.ordinal()].sum();
+                changed |= deltas[status.ordinal()] != 0;
+            }
+            if (!changed) {
+                return;
+            }
+            try (TenantContext.Scope ignored = TenantContext.open(tenant)) {
+                transactionTemplate.executeWithoutResult(tx -> {
+                    for (final TaskStatus status : STATUSES) {
+                        final long delta = deltas[status.ordinal()];
+                        if (delta != 0 && taskStatusCountRepository.addToCount(tenant, status, delta) == 0) {
+                            taskStatusCountRepository.save(new TaskStatusCount(tenant, status, delta));
+                        }
+                    }
+                });
+            } catch (RuntimeException e) {
+                // The deltas stay pending and go with the next flush
+                log.warn("Could not flush the task status counters of tenant {}", tenant, e);
+                return;
+            }
+            // Stored first, then pending: a read in between counts the flushed deltas twice rather than not at all
+            stored.invalidate(tenant);
+            for (final TaskStatus status : STATUSES) {
+                counters[status.ordinal()].add(-deltas[status.ordinal()]);
+            }
+        });
+        for (final String tenant : stale) {
+            // Removed first, so a change committing during the recount marks the tenant again
+            stale.remove(tenant);
+            if (!recount(tenant)) {
+                stale.add(tenant);
+            }
+        }
+    }
+
+    @Scheduled(initialDelayString = "${app.stats.reconcile-interval:PT10M}",
+            fixedDelayString = "${app.stats.reconcile-interval:PT10M}")
+    public synchronized void reconcile() {
+        final Set<String> tenants = new TreeSet<>();
+        try (TenantContext.Scope ignored = TenantContext.open(null)) {
+            tenants.addAll(taskRepository.findTenants());
+            // Tenants left without tasks, their counts go back to zero
+            tenants.addAll(taskStatusCountRepository.findTenantIds());
+        }
+        // Only the isolated tenants this instance has counted, the others are recounted where they are served
+        tenancyProperties.isolated().keySet().stream()
+                .filter(pending::containsKey)
+                .forEach(tenants::add);
+        tenants.forEach(this::recount);
+        log.debug("Reconciled task status counters of {} tenants", tenants.size());
+    }
+
+    /**
+     * Overwrites the stored counts of {@code tenant} row by row, so a flush of another instance never finds its row
+     * missing. The recount covers every change committed before it, the unflushed ones included: those pending at its
+     * start are dropped afterwards, the ones added since stay pending.
+     */
+    private boolean recount(final String tenant) {
+        final long[] snapshot = new long[STATUSES.length];
+        try (TenantContext.Scope ignored = TenantContext.open(tenant)) {
+            transactionTemplate.executeWithoutResult(tx -> {
+                // Taken right before the count: only a change committing in between is counted twice, until the next
+                // reconcile
+                final LongAdder[] counters = pending.get(tenant);
+                if (counters != null) {
+                    for (final TaskStatus status : STATUSES) {
+                        snapshot[status.ordinal()] = counters[status.ordinal()].sum();
+                    }
+                }
+                final long[] counts = new long[STATUSES.length];
+                for (final Object[] row : taskRepository.countByStatus(tenant)) {
+                    counts[TaskStatus.valueOf((String) row[0]).ordinal()] = ((Number) row[1]).longValue();
+                }
+                for (final TaskStatus status : STATUSES) {
+                    final long count = counts[status.ordinal()];
+                    if (taskStatusCountRepository.setCount(tenant, status, count) == 0 && count != 0) {
+                        taskStatusCountRepository.save(new TaskStatusCount(tenant, status, count));
+                    }
+                }
+            });
+        } catch (RuntimeException e) {
+            // The counts stay as they are, the next reconcile tries again
+            log.warn("Could not reconcile the task status counters of tenant {}", tenant, e);
+            return false;
+        }
+        // Same order as flush()
+        stored.invalidate(tenant);
+        final LongAdder[] counters = pending.get(tenant);
+        if (counters != null) {
+            for (final TaskStatus status : STATUSES) {
+                counters[status.ordinal()].add(-snapshot[status.ordinal()]);
+            }
+        }
+        return true;
+    }
+
+    private long[] load(final String tenant) {
+        final long[] counts = new long[STATUSES.length];
+        taskStatusCountRepository.findByTenantId(tenant)
+                .forEach(count -> counts[count.getId().getStatus().ordinal()] = count.getTaskCount());
+        return counts;
+    }
+
+    private static LongAdder[] newCounters() {
+        final LongAdder[] counters = new LongAdder[STATUSES.length];
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] = new LongAdder();
+        }
+        return counters;
+    }
+
+    private static void afterCommit(final Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
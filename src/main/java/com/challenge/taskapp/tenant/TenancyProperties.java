@@ -0,0 +1,60 @@
+package com.challenge.taskapp.tenant;
+
+import com.challenge.taskapp.enums.TenantIsolation;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Placement of the tenants: every tenant is {@link TenantIsolation#SHARED} unless listed under
+ * {@code app.tenancy.tenants.<tenant>}.
+ *
+ * @param idleTimeout     a {@link TenantIsolation#DATABASE} tenant's pool is closed after this long without a request
+ * @param maximumPoolSize connections per {@link TenantIsolation#DATABASE} tenant
+ */
+@ConfigurationProperties("app.tenancy")
+public record TenancyProperties(Map<String, Placement> tenants,
+                                @DefaultValue("PT10M") Duration idleTimeout,
+                                @DefaultValue("5") int maximumPoolSize) {
+
+    private static final Placement SHARED = new Placement(TenantIsolation.SHARED, null, null, null, null);
+
+    public TenancyProperties {
+        tenants = tenants == null ? Map.of() : Map.copyOf(tenants);
+    }
+
+    public Placement of(final String tenant) {
+        return tenant == null ? SHARED : tenants.getOrDefault(tenant, SHARED);
+    }
+
+    /**
+     * Tenants stored outside the shared tables.
+     */
+    public Map<String, Placement> isolated() {
+        return tenants.entrySet().stream()
+                .filter(tenant -> tenant.getValue().mode() != TenantIsolation.SHARED)
+                .collect(Collectors.toUnmodifiableMap(Map.Entry::getKey, Map.Entry::getValue));
+    }
+
+    /**
+     * @param schema   schema of a {@link TenantIsolation#SCHEMA} tenant
+     * @param url      JDBC url of a {@link TenantIsolation#DATABASE} tenant
+     * @param username user of a {@link TenantIsolation#DATABASE} tenant, the shared database's when not set
+     * @param password password of a {@link TenantIsolation#DATABASE} tenant, the shared database's when not set
+     */
+    public record Placement(@DefaultValue("SHARED") TenantIsolation mode, String schema, String url,
+                            String username, String password) {
+
+        public Placement {
+            if (mode == TenantIsolation.SCHEMA && (schema == null || schema.isBlank())) {
+                throw new IllegalArgumentException("A SCHEMA tenant needs a schema");
+            }
+            if (mode == TenantIsolation.DATABASE && (url == null || url.isBlank())) {
+                throw new IllegalArgumentException("A DATABASE tenant needs a url");
+            }
+        }
+    }
+}
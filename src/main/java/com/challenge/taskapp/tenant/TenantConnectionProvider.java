@@ -0,0 +1,171 @@
+package com.challenge.taskapp.tenant;
+
+import com.challenge.taskapp.enums.TenantIsolation;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.configuration.FluentConfiguration;
+import org.hibernate.engine.jdbc.connections.spi.MultiTenantConnectionProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hands Hibernate the connections of a tenant according to its {@link TenancyProperties placement}:
+ * <ul>
+ *     <li>{@link TenantIsolation#SHARED}: a connection of the shared data source, read-only transactions included.</li>
+ *     <li>{@link TenantIsolation#SCHEMA}: a connection of the primary pool switched to the tenant's schema, and back
+ *     to the shared one on release.</li>
+ *     <li>{@link TenantIsolation#DATABASE}: a connection of the tenant's own pool, created on its first request and
+ *     closed after {@code app.tenancy.idle-timeout} without one.</li>
+ * </ul>
+ * The Flyway migrations are applied to a schema or database the first time it is used, so a tenant can be isolated by
+ * configuration only. The TENANT_ID discriminator stays in force everywhere, isolated tables simply hold one tenant.
+ */
+@Slf4j
+@Component
+public class TenantConnectionProvider implements MultiTenantConnectionProvider<String> {
+
+    private final DataSource sharedDataSource;
+    private final DataSource primaryDataSource;
+    private final DataSourceProperties dataSourceProperties;
+    private final TenancyProperties properties;
+    private final String[] migrationLocations;
+    private final Set<String> migratedSchemas = ConcurrentHashMap.newKeySet();
+    private final Cache<String, HikariDataSource> databases;
+    private volatile String sharedSchema;
+
+    public TenantConnectionProvider(final DataSource sharedDataSource,
+                                    @Qualifier("primaryDataSource") final DataSource primaryDataSource,
+                                    final DataSourceProperties dataSourceProperties,
+                                    final TenancyProperties properties,
+                                    @Value("${spring.flyway.locations:classpath:db/migration}") final String[] migrationLocations) {
+        this.sharedDataSource = sharedDataSource;
+        this.primaryDataSource = primaryDataSource;
+        this.dataSourceProperties = dataSourceProperties;
+        this.properties = properties;
+        this.migrationLocations = migrationLocations;
+        this.databases = Caffeine.newBuilder()
+                .expireAfterAccess(properties.idleTimeout())
+                // Evicts idle pools on time rather than on the next cache access, which may never come
+                .scheduler(Scheduler.systemScheduler())
+                .<String, HikariDataSource>removalListener((tenant, pool, cause) -> close(tenant, pool, cause))
+                .build();
+    }
+
+    @Override
+    public Connection getAnyConnection() throws SQLException {
+        return sharedDataSource.getConnection();
+    }
+
+    @Override
+    public void releaseAnyConnection(final Connection connection) throws SQLException {
+        connection.close();
+    }
+
+    @Override
+    public Connection getConnection(final String tenant) throws SQLException {
+        final TenancyProperties.Placement placement = properties.of(tenant);
+        return switch (placement.mode()) {
+            case SHARED -> sharedDataSource.getConnection();
+            case SCHEMA -> schemaConnection(placement.schema());
+            case DATABASE -> databases.get(tenant, this::open).getConnection();
+        };
+    }
+
+    @Override
+    public void releaseConnection(final String tenant, final Connection connection) throws SQLException {
+        try {
+            if (properties.of(tenant).mode() == TenantIsolation.SCHEMA) {
+                connection.setSchema(sharedSchema);
+            }
+        } finally {
+            connection.close();
+        }
+    }
+
+    @Override
+    public boolean supportsAggressiveRelease() {
+        return false;
+    }
+
+    @Override
+    public boolean isUnwrappableAs(final Class<?> unwrapType) {
+        return unwrapType.isInstance(this);
+    }
+
+    @Override
+    public <T> T unwrap(final Class<T> unwrapType) {
+        return unwrapType.cast(this);
+    }
+
+    private Connection schemaConnection(final String schema) throws SQLException {
+        if (migratedSchemas.add(schema)) {
+            migrate(Flyway.configure().dataSource(primaryDataSource).schemas(schema).createSchemas(true), schema);
+        }
+        final Connection connection = primaryDataSource.getConnection();
+        if (sharedSchema == null) {
+            // Pooled connections are always given back on the shared schema, so any of them tells which one it is
+            sharedSchema = connection.getSchema();
+        }
+        connection.setSchema(schema);
+        return connection;
+    }
+
+    private HikariDataSource open(final String tenant) {
+        final TenancyProperties.Placement placement = properties.of(tenant);
+        final HikariDataSource pool = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(dataSourceProperties.determineDriverClassName())
+                .url(placement.url())
+                .username(placement.username() == null ? dataSourceProperties.determineUsername() : placement.username())
+                .password(placement.password() == null ? dataSourceProperties.determinePassword() : placement.password())
+                .build();
+        pool.setPoolName("tenant-" + tenant);
+        pool.setMaximumPoolSize(properties.maximumPoolSize());
+        pool.setMinimumIdle(0);
+        try {
+            migrate(Flyway.configure().dataSource(pool), tenant);
+        } catch (RuntimeException e) {
+            pool.close();
+            throw e;
+        }
+        log.info("Opened the connection pool of tenant {}", tenant);
+        return pool;
+    }
+
+    private void migrate(final FluentConfiguration flyway, final String target) {
+        flyway.locations(migrationLocations).load().migrate();
+        log.debug("Migrated the tables of {}", target);
+    }
+
+    private static void close(final String tenant, final HikariDataSource pool, final RemovalCause cause) {
+        if (pool != null) {
+            log.info("Closing the connection pool of tenant {} ({})", tenant, cause);
+            pool.close();
+        }
+    }
+
+    /**
+     * Closes the pools of the {@link TenantIsolation#DATABASE} tenants.
+     */
+    @PreDestroy
+    public void closeAll() {
+        // Closed here rather than by the removal listener, which runs asynchronously
+        databases.asMap().values().forEach(HikariDataSource::close);
+        databases.invalidateAll();
+    }
+}
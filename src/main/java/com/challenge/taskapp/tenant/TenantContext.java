@@ -1,14 +1,79 @@
 package com.challenge.taskapp.tenant;
 
-public class TenantContext {
+import java.util.concurrent.Callable;
 
+/**
+ * Tenant of the work running on the current thread.
+ * <p>
+ * The binding is stored in a {@link ThreadLocal}: Hibernate asks {@link TenantIdentifierResolver} for the tenant
+ * without arguments, so it has to be found on the current thread. The ThreadLocal stays private behind a scoped API:
+ * the tenant can only be bound for a scope, never set and forgotten. {@link #open(String)} returns a {@link Scope} that
+ * restores the previous binding when closed, the same contract as {@code ScopedValue} (still a preview API on Java 21),
+ * which can replace the ThreadLocal here without touching callers. Bindings are never inherited by child threads. Work handed to another thread (executors, async
+ * methods) must carry the tenant explicitly with {@link #wrap(Runnable)} or {@link #wrap(Callable)}, which is what
+ * {@code TenantTaskDecorator} does for Spring's executors. This keeps resolution correct on virtual threads, where a
+ * request may run on any carrier and offloaded work never shares the request thread.
+ */
+public final class TenantContext {
+
+    /**
+     * Request header that selects the tenant.
+     */
+    public static final String HEADER = "X-TenantID";
+
+    // Not an InheritableThreadLocal: a thread started inside a scope must not see its tenant
     private static final ThreadLocal<String> CURRENT_TENANT = new ThreadLocal<>();
 
+    private TenantContext() {
+    }
+
     public static String getCurrentTenant() {
         return CURRENT_TENANT.get();
     }
 
-    public static void setCurrentTenant(final String tenant) {
-        CURRENT_TENANT.set(tenant);
+    /**
+     * Binds {@code tenant} until the returned scope is closed. Use it in a try-with-resources block.
+     */
+    public static Scope open(final String tenant) {
+        final String previous = CURRENT_TENANT.get();
+        bind(tenant);
+        return () -> bind(previous);
+    }
+
+    /**
+     * Captures the current tenant so {@code task} runs with it on whatever thread executes it.
+     */
+    public static Runnable wrap(final Runnable task) {
+        final String tenant = getCurrentTenant();
+        return () -> {
+            try (Scope ignored = open(tenant)) {
+                task.run();
+            }
+        };
+    }
+
+    public static <T> Callable<T> wrap(final Callable<T> task) {
+        final String tenant = getCurrentTenant();
+        return () -> {
+            try (Scope ignored = open(tenant)) {
+                return task.call();
+            }
+        };
+    }
+
+    private static void bind(final String tenant) {
+        if (tenant == null) {
+            // remove() rather than set(null), so pooled threads do not keep an entry around
+            CURRENT_TENANT.remove();
+        } else {
+            CURRENT_TENANT.set(tenant);
+        }
+    }
+
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable {
+
+        @Override
+        void close();
     }
 }
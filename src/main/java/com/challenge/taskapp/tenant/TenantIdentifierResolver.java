@@ -6,7 +6,7 @@ import org.springframework.stereotype.Component;
 @Component
 public class TenantIdentifierResolver implements CurrentTenantIdentifierResolver {
 
-    private static final String DEFAULT_TENANT = "public";
+    public static final String DEFAULT_TENANT = "public";
 
     @Override
     public String resolveCurrentTenantIdentifier() {
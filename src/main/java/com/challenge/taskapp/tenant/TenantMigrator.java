@@ -0,0 +1,176 @@
+package com.challenge.taskapp.tenant;
+
+import com.challenge.taskapp.enums.TenantIsolation;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Moves the rows of a tenant from the shared tables to its own schema or database, the placement configured under
+ * {@code app.tenancy.tenants.<tenant>}.
+ * <p>
+ * The rows are copied in one transaction on the target and only removed from the shared tables, in one transaction
+ * too, once the copied counts match. A failed run can be started again: it finds either an empty target, or a complete
+ * copy whose shared rows are left to delete. A target holding other rows is never written to. It must run while no
+ * instance serves the tenant, see {@code app.tenancy.migrate}.
+ */
+@Slf4j
+@Component
+public class TenantMigrator {
+
+    /**
+     * Every table holding rows of a tenant.
+     */
+    static final List<String> TABLES = List.of("TASKS", "TASKS_ARCHIVE", "TASK_SEARCH_TERMS", "TASK_TOMBSTONES",
+            "TASK_STATUS_COUNTS");
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final DataSource sharedDataSource;
+    private final TenantConnectionProvider connectionProvider;
+    private final TenancyProperties properties;
+
+    public TenantMigrator(@Qualifier("primaryDataSource") final DataSource sharedDataSource,
+                          final TenantConnectionProvider connectionProvider,
+                          final TenancyProperties properties) {
+        this.sharedDataSource = sharedDataSource;
+        this.connectionProvider = connectionProvider;
+        this.properties = properties;
+    }
+
+    /**
+     * @return the rows moved per table
+     */
+    public Map<String, Long> migrate(final String tenant) throws SQLException {
+        if (properties.of(tenant).mode() == TenantIsolation.SHARED) {
+            throw new IllegalArgumentException("Tenant " + tenant + " is not placed in a schema or database of its own");
+        }
+        final Map<String, Long> shared;
+        try (Connection source = sharedDataSource.getConnection()) {
+            shared = counts(source, tenant);
+            if (shared.values().stream().allMatch(rows -> rows == 0)) {
+                log.info("Tenant {} has no rows left in the shared tables", tenant);
+                return Collections.unmodifiableMap(shared);
+            }
+            final Connection target = connectionProvider.getConnection(tenant);
+            try {
+                final Map<String, Long> copied = counts(target, tenant);
+                if (copied.values().stream().allMatch(rows -> rows == 0)) {
+                    copy(source, target, tenant);
+                } else if (!copied.equals(shared)) {
+                    // Neither empty nor a complete copy from a run that stopped before deleting: rows written there
+                    // since, which a new copy would collide with
+                    throw new IllegalStateException("The placement of tenant " + tenant + " already holds " + copied
+                            + " rows, the shared tables " + shared);
+                }
+                final Map<String, Long> verified = counts(target, tenant);
+                if (!verified.equals(shared)) {
+                    throw new IllegalStateException("Copied " + verified + " rows of tenant " + tenant
+                            + ", the shared tables have " + shared);
+                }
+            } finally {
+                connectionProvider.releaseConnection(tenant, target);
+            }
+
+            source.setAutoCommit(false);
+            try {
+                for (final String table : TABLES.reversed()) {
+                    delete(source, table, tenant);
+                }
+                source.commit();
+            } catch (SQLException | RuntimeException e) {
+                source.rollback();
+                throw e;
+            } finally {
+                source.setAutoCommit(true);
+            }
+        }
+        log.info("Moved tenant {} out of the shared tables: {}", tenant, shared);
+        return Collections.unmodifiableMap(shared);
+    }
+
+    private static void copy(final Connection source, final Connection target, final String tenant) throws SQLException {
+        target.setAutoCommit(false);
+        try {
+            for (final String table : TABLES) {
+                copy(source, target, table, tenant);
+            }
+            target.commit();
+        } catch (SQLException | RuntimeException e) {
+            target.rollback();
+            throw e;
+        } finally {
+            target.setAutoCommit(true);
+        }
+    }
+
+    private static void copy(final Connection source, final Connection target, final String table, final String tenant)
+            throws SQLException {
+        long rows = 0;
+        try (PreparedStatement select = source.prepareStatement("SELECT * FROM " + table + " WHERE TENANT_ID = ?")) {
+            select.setFetchSize(BATCH_SIZE);
+            select.setString(1, tenant);
+            try (ResultSet resultSet = select.executeQuery()) {
+                final ResultSetMetaData metaData = resultSet.getMetaData();
+                final int columns = metaData.getColumnCount();
+                final StringBuilder names = new StringBuilder();
+                final StringBuilder parameters = new StringBuilder();
+                for (int column = 1; column <= columns; column++) {
+                    names.append(column == 1 ? "" : ", ").append(metaData.getColumnName(column));
+                    parameters.append(column == 1 ? "?" : ", ?");
+                }
+                try (PreparedStatement insert = target.prepareStatement(
+                        "INSERT INTO " + table + " (" + names + ") VALUES (" + parameters + ")")) {
+                    while (resultSet.next()) {
+                        for (int column = 1; column <= columns; column++) {
+                            insert.setObject(column, resultSet.getObject(column));
+                        }
+                        insert.addBatch();
+                        if (++rows % BATCH_SIZE == 0) {
+                            insert.executeBatch();
+                        }
+                    }
+                    if (rows % BATCH_SIZE != 0) {
+                        insert.executeBatch();
+                    }
+                }
+            }
+        }
+    }
+
+    private static void delete(final Connection connection, final String table, final String tenant) throws SQLException {
+        try (PreparedStatement delete = connection.prepareStatement("DELETE FROM " + table + " WHERE TENANT_ID = ?")) {
+            delete.setString(1, tenant);
+            delete.executeUpdate();
+        }
+    }
+
+    private static Map<String, Long> counts(final Connection connection, final String tenant) throws SQLException {
+        final Map<String, Long> counts = new LinkedHashMap<>();
+        for (final String table : TABLES) {
+            counts.put(table, count(connection, table, tenant));
+        }
+        return counts;
+    }
+
+    private static long count(final Connection connection, final String table, final String tenant) throws SQLException {
+        try (PreparedStatement count = connection.prepareStatement("SELECT COUNT(*) FROM " + table + " WHERE TENANT_ID = ?")) {
+            count.setString(1, tenant);
+            try (ResultSet resultSet = count.executeQuery()) {
+                resultSet.next();
+                return resultSet.getLong(1);
+            }
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.challenge.taskapp.tenant;
+
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Propagates the tenant to tasks submitted to Spring's executors ({@code applicationTaskExecutor}, {@code @Async},
+ * async MVC), whether they run on platform or virtual threads.
+ */
+@Component
+public class TenantTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(final Runnable runnable) {
+        return TenantContext.wrap(runnable);
+    }
+}
@@ -0,0 +1,51 @@
+package db.migration;
+
+import com.challenge.taskapp.search.SearchTerms;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Indexes the tasks that existed before the search index (V5). It has to be a Java migration, the terms come from
+ * {@link SearchTerms}, the same tokenizer the application uses for new and updated tasks.
+ */
+public class V6__Backfill_task_search_terms extends BaseJavaMigration {
+
+    private static final int BATCH_SIZE = 1_000;
+
+    @Override
+    public void migrate(final Context context) throws Exception {
+        final Connection connection = context.getConnection();
+        try (Statement select = connection.createStatement();
+             ResultSet tasks = select.executeQuery("SELECT ID, TITLE, DESCRIPTION, TENANT_ID FROM TASKS");
+             PreparedStatement insert = connection.prepareStatement(
+                     "INSERT INTO TASK_SEARCH_TERMS (TENANT_ID, TERM, TASK_ID, FREQUENCY) VALUES (?, ?, ?, ?)")) {
+            int pending = 0;
+            while (tasks.next()) {
+                final UUID taskId = tasks.getObject("ID", UUID.class);
+                final String tenantId = tasks.getString("TENANT_ID");
+                for (final Map.Entry<String, Integer> term
+                        : SearchTerms.ofTask(tasks.getString("TITLE"), tasks.getString("DESCRIPTION")).entrySet()) {
+                    insert.setString(1, tenantId);
+                    insert.setString(2, term.getKey());
+                    insert.setObject(3, taskId);
+                    insert.setInt(4, term.getValue());
+                    insert.addBatch();
+                    if (++pending == BATCH_SIZE) {
+                        insert.executeBatch();
+                        pending = 0;
+                    }
+                }
+            }
+            if (pending > 0) {
+                insert.executeBatch();
+            }
+        }
+    }
+}
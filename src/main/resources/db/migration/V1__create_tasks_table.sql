@@ -0,0 +1,10 @@
+CREATE TABLE TASKS (
+    ID          UUID         NOT NULL,
+    TITLE       VARCHAR(100) NOT NULL,
+    DESCRIPTION VARCHAR(255),
+    STATUS      VARCHAR(20)  NOT NULL,
+    CREATED_AT  TIMESTAMP(6) NOT NULL,
+    UPDATED_AT  TIMESTAMP(6) NOT NULL,
+    TENANT_ID   VARCHAR(255) NOT NULL,
+    CONSTRAINT PK_TASKS PRIMARY KEY (ID)
+);
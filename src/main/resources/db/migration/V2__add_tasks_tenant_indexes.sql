@@ -0,0 +1,5 @@
+-- Unfiltered lists: WHERE TENANT_ID = ? ORDER BY CREATED_AT, ID (also the keyset seek order)
+CREATE INDEX IDX_TASKS_TENANT_CREATED_AT_ID ON TASKS (TENANT_ID, CREATED_AT, ID);
+
+-- Status filter: WHERE TENANT_ID = ? AND STATUS = ? ORDER BY CREATED_AT, ID
+CREATE INDEX IDX_TASKS_TENANT_STATUS_CREATED_AT_ID ON TASKS (TENANT_ID, STATUS, CREATED_AT, ID);
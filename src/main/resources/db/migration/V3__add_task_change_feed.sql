@@ -0,0 +1,12 @@
+-- Change feed over live tasks: WHERE TENANT_ID = ? AND (UPDATED_AT, ID) > (?, ?) ORDER BY UPDATED_AT, ID
+CREATE INDEX IDX_TASKS_TENANT_UPDATED_AT_ID ON TASKS (TENANT_ID, UPDATED_AT, ID);
+
+-- Deleted tasks, reported as DELETED by the change feed
+CREATE TABLE TASK_TOMBSTONES (
+    TASK_ID    UUID         NOT NULL,
+    DELETED_AT TIMESTAMP(6) NOT NULL,
+    TENANT_ID  VARCHAR(255) NOT NULL,
+    CONSTRAINT PK_TASK_TOMBSTONES PRIMARY KEY (TASK_ID)
+);
+
+CREATE INDEX IDX_TASK_TOMBSTONES_TENANT_DELETED_AT_ID ON TASK_TOMBSTONES (TENANT_ID, DELETED_AT, TASK_ID);
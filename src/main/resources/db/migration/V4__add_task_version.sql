@@ -0,0 +1,2 @@
+-- Optimistic locking: every update checks and increments the version of the row it read
+ALTER TABLE TASKS ADD COLUMN VERSION BIGINT DEFAULT 0 NOT NULL;
@@ -0,0 +1,12 @@
+-- Inverted index for GET /tasks/search, one row per (tenant, term, task):
+-- WHERE TENANT_ID = ? AND TERM IN (...) GROUP BY TASK_ID reads only the postings of the query terms
+CREATE TABLE TASK_SEARCH_TERMS (
+    TENANT_ID VARCHAR(255) NOT NULL,
+    TERM      VARCHAR(64)  NOT NULL,
+    TASK_ID   UUID         NOT NULL,
+    FREQUENCY INT          NOT NULL,
+    CONSTRAINT PK_TASK_SEARCH_TERMS PRIMARY KEY (TENANT_ID, TERM, TASK_ID)
+);
+
+-- Removal of the postings of a task on update and delete
+CREATE INDEX IDX_TASK_SEARCH_TERMS_TASK_ID ON TASK_SEARCH_TERMS (TASK_ID);
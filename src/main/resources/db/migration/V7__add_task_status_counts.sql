@@ -0,0 +1,10 @@
+-- Tasks per tenant and status, read by GET /tasks/stats instead of counting TASKS
+CREATE TABLE TASK_STATUS_COUNTS (
+    TENANT_ID  VARCHAR(255) NOT NULL,
+    STATUS     VARCHAR(20)  NOT NULL,
+    TASK_COUNT BIGINT       NOT NULL,
+    CONSTRAINT PK_TASK_STATUS_COUNTS PRIMARY KEY (TENANT_ID, STATUS)
+);
+
+INSERT INTO TASK_STATUS_COUNTS (TENANT_ID, STATUS, TASK_COUNT)
+SELECT TENANT_ID, STATUS, COUNT(*) FROM TASKS GROUP BY TENANT_ID, STATUS;
@@ -0,0 +1,25 @@
+-- DONE tasks moved out of TASKS by the archival job, same columns plus the time they were moved
+CREATE TABLE TASKS_ARCHIVE (
+    ID          UUID         NOT NULL,
+    TITLE       VARCHAR(100) NOT NULL,
+    DESCRIPTION VARCHAR(255),
+    STATUS      VARCHAR(20)  NOT NULL,
+    CREATED_AT  TIMESTAMP(6) NOT NULL,
+    UPDATED_AT  TIMESTAMP(6) NOT NULL,
+    TENANT_ID   VARCHAR(255) NOT NULL,
+    VERSION     BIGINT       NOT NULL,
+    ARCHIVED_AT TIMESTAMP(6) NOT NULL,
+    CONSTRAINT PK_TASKS_ARCHIVE PRIMARY KEY (ID)
+);
+
+-- Lists with ?includeArchived=true: WHERE TENANT_ID = ? ORDER BY CREATED_AT, ID on both sides of the view
+CREATE INDEX IDX_TASKS_ARCHIVE_TENANT_CREATED_AT_ID ON TASKS_ARCHIVE (TENANT_ID, CREATED_AT, ID);
+
+-- Archival candidates: WHERE TENANT_ID = ? AND STATUS = 'DONE' AND UPDATED_AT < ? ORDER BY UPDATED_AT, ID
+CREATE INDEX IDX_TASKS_TENANT_STATUS_UPDATED_AT_ID ON TASKS (TENANT_ID, STATUS, UPDATED_AT, ID);
+
+-- Live and archived tasks together, a task is in exactly one of the two tables
+CREATE VIEW TASKS_INCLUDING_ARCHIVED AS
+SELECT ID, TITLE, DESCRIPTION, STATUS, CREATED_AT, UPDATED_AT, TENANT_ID, VERSION FROM TASKS
+UNION ALL
+SELECT ID, TITLE, DESCRIPTION, STATUS, CREATED_AT, UPDATED_AT, TENANT_ID, VERSION FROM TASKS_ARCHIVE;
@@ -0,0 +1,30 @@
+package com.challenge.taskapp.benchmark;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+/**
+ * Requests per second of {@code GET /tasks} with every request verifying its Basic credentials through BCrypt, and
+ * with the verified credential cache in front of it. The client count is kept near the core count so the run is CPU
+ * bound, which is where BCrypt shows. Run it with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+@DisplayName("Credential cache benchmark")
+class CredentialCacheBenchmark {
+
+    private static final int CLIENTS = Runtime.getRuntime().availableProcessors() * 2;
+    private static final Duration WARMUP = Duration.ofSeconds(10);
+    private static final Duration MEASUREMENT = Duration.ofSeconds(30);
+
+    @Test
+    void throughputWithAndWithoutCredentialCache() throws Exception {
+        HttpLoadDriver.Result.printHeader("credentials");
+        HttpLoadDriver.run("no_cache", CLIENTS, WARMUP, MEASUREMENT, "app.security.credential-cache.enabled=false")
+                .print("bcrypt");
+        HttpLoadDriver.run("cache", CLIENTS, WARMUP, MEASUREMENT, "app.security.credential-cache.enabled=true")
+                .print("cached");
+    }
+}
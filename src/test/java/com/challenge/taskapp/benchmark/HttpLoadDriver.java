@@ -0,0 +1,127 @@
+package com.challenge.taskapp.benchmark;
+
+import com.challenge.taskapp.TaskAppApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Starts the application on a random port, seeds some tasks for a few tenants and drives {@code GET /tasks} from
+ * concurrent clients, for the HTTP level benchmarks.
+ */
+final class HttpLoadDriver {
+
+    static final String[] TENANTS = {"tenant-a", "tenant-b", "tenant-c", "tenant-d"};
+    private static final int TASKS_PER_TENANT = 50;
+    private static final String AUTHORIZATION = "Basic "
+            + Base64.getEncoder().encodeToString("test:test".getBytes(StandardCharsets.UTF_8));
+
+    private HttpLoadDriver() {
+    }
+
+    static Result run(final String name, final int clients, final Duration warmup, final Duration measurement,
+                      final String... properties) throws Exception {
+        final List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.jpa.show-sql=false",
+                "--spring.datasource.url=jdbc:h2:mem:load_" + name + ";DB_CLOSE_DELAY=-1"));
+        for (final String property : properties) {
+            args.add("--" + property);
+        }
+
+        try (ConfigurableApplicationContext context = SpringApplication.run(TaskAppApplication.class, args.toArray(String[]::new))) {
+            final String port = context.getEnvironment().getProperty("local.server.port");
+            final URI tasks = URI.create("http://localhost:" + port + "/api/v1/tasks");
+            final HttpClient client = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build();
+
+            for (final String tenant : TENANTS) {
+                for (int i = 0; i < TASKS_PER_TENANT; i++) {
+                    client.send(request(tasks, tenant)
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString("{\"title\":\"Load task " + i + "\"}"))
+                            .build(), HttpResponse.BodyHandlers.discarding());
+                }
+            }
+
+            drive(client, tasks, clients, warmup);
+            return drive(client, tasks, clients, measurement);
+        }
+    }
+
+    private static Result drive(final HttpClient client, final URI tasks, final int clients, final Duration duration)
+            throws Exception {
+        final long deadline = System.nanoTime() + duration.toNanos();
+        final List<Future<ClientResult>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < clients; c++) {
+                final String tenant = TENANTS[c % TENANTS.length];
+                futures.add(executor.submit(() -> {
+                    final List<Long> latencies = new ArrayList<>();
+                    int errors = 0;
+                    while (System.nanoTime() < deadline) {
+                        final long begin = System.nanoTime();
+                        final HttpResponse<Void> response = client.send(request(tasks, tenant).GET().build(),
+                                HttpResponse.BodyHandlers.discarding());
+                        latencies.add(System.nanoTime() - begin);
+                        if (response.statusCode() != 200) {
+                            errors++;
+                        }
+                    }
+                    return new ClientResult(latencies, errors);
+                }));
+            }
+        }
+
+        final List<Long> latencies = new ArrayList<>();
+        int errors = 0;
+        for (final Future<ClientResult> future : futures) {
+            latencies.addAll(future.get().latenciesNanos());
+            errors += future.get().errors();
+        }
+        return new Result(latencies.stream().mapToLong(Long::longValue).sorted().toArray(), errors, duration);
+    }
+
+    private static HttpRequest.Builder request(final URI uri, final String tenant) {
+        return HttpRequest.newBuilder(uri)
+                .header("Authorization", AUTHORIZATION)
+                .header("X-TenantID", tenant);
+    }
+
+    private record ClientResult(List<Long> latenciesNanos, int errors) { }
+
+    record Result(long[] latenciesNanos, int errors, Duration duration) {
+
+        static void printHeader(final String label) {
+            System.out.printf("%-12s %12s %10s %10s %10s%n", label, "requests/s", "p50 (ms)", "p99 (ms)", "errors");
+        }
+
+        void print(final String name) {
+            System.out.printf("%-12s %12.0f %10.2f %10.2f %10d%n", name, requestsPerSecond(),
+                    percentileMillis(0.50), percentileMillis(0.99), errors);
+        }
+
+        double requestsPerSecond() {
+            return latenciesNanos.length / (duration.toNanos() / 1e9);
+        }
+
+        double percentileMillis(final double percentile) {
+            if (latenciesNanos.length == 0) {
+                return 0;
+            }
+            final int index = (int) Math.ceil(percentile * latenciesNanos.length) - 1;
+            return latenciesNanos[Math.clamp(index, 0, latenciesNanos.length - 1)] / 1e6;
+        }
+    }
+}
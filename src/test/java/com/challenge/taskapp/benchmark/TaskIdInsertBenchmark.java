@@ -0,0 +1,86 @@
+package com.challenge.taskapp.benchmark;
+
+import com.challenge.taskapp.model.id.UuidV7;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Compares random version 4 ids ({@code GenerationType.UUID}) with {@link UuidV7} on a large file-backed TASKS table:
+ * insert throughput and the size of the database file, which grows with the page splits random keys cause in the
+ * primary key index. Run it with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+@DisplayName("Task id insert benchmark")
+class TaskIdInsertBenchmark {
+
+    private static final int ROWS = 1_000_000;
+    private static final int INSERT_BATCH_SIZE = 1_000;
+    private static final int COMMIT_EVERY = 10_000;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void insertThroughputAndSizeByIdGenerator() throws SQLException, IOException {
+        System.out.printf("%-10s %10s %14s %12s%n", "generator", "rows", "rows/s", "file (MB)");
+        run("uuid-v4", UUID::randomUUID);
+        run("uuid-v7", UuidV7::next);
+    }
+
+    private void run(final String name, final Supplier<UUID> ids) throws SQLException, IOException {
+        final Path file = tempDir.resolve(name);
+        final String url = "jdbc:h2:file:" + file;
+        Flyway.configure().dataSource(url, "sa", "").locations("classpath:db/migration").load().migrate();
+
+        final long elapsed;
+        try (Connection connection = DriverManager.getConnection(url, "sa", "")) {
+            connection.setAutoCommit(false);
+            final Timestamp now = Timestamp.from(Instant.now());
+            final long begin = System.nanoTime();
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "INSERT INTO TASKS (ID, TITLE, DESCRIPTION, STATUS, CREATED_AT, UPDATED_AT, TENANT_ID) "
+                            + "VALUES (?, ?, ?, 'PENDING', ?, ?, 'public')")) {
+                for (int i = 1; i <= ROWS; i++) {
+                    insert.setObject(1, ids.get());
+                    insert.setString(2, "Task " + i);
+                    insert.setString(3, "Benchmark task");
+                    insert.setTimestamp(4, now);
+                    insert.setTimestamp(5, now);
+                    insert.addBatch();
+                    if (i % INSERT_BATCH_SIZE == 0) {
+                        insert.executeBatch();
+                    }
+                    if (i % COMMIT_EVERY == 0) {
+                        connection.commit();
+                    }
+                }
+                insert.executeBatch();
+            }
+            connection.commit();
+            elapsed = System.nanoTime() - begin;
+
+            try (Statement shutdown = connection.createStatement()) {
+                shutdown.execute("SHUTDOWN");
+            }
+        }
+
+        final long bytes = Files.size(Path.of(file + ".mv.db"));
+        System.out.printf("%-10s %10d %14d %12.1f%n", name, ROWS, ROWS * 1_000_000_000L / elapsed, bytes / (1024.0 * 1024.0));
+    }
+}
@@ -0,0 +1,116 @@
+package com.challenge.taskapp.benchmark;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Measures the latency of the tenant-scoped list queries as TASKS grows, before (migration V1, no secondary indexes)
+ * and after (latest migration) the tenant indexes. Run it with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+@DisplayName("Task list latency benchmark")
+class TaskListLatencyBenchmark {
+
+    private static final int[] TABLE_SIZES = {10_000, 100_000, 500_000};
+    private static final String[] TENANTS = {"tenant-a", "tenant-b", "tenant-c", "tenant-d"};
+    private static final String[] STATUSES = {"PENDING", "IN_PROGRESS", "DONE"};
+    private static final int WARMUP_ROUNDS = 50;
+    private static final int MEASURED_ROUNDS = 200;
+    private static final int INSERT_BATCH_SIZE = 1_000;
+
+    private static final String LIST_QUERY = "SELECT ID, TITLE, DESCRIPTION, STATUS, CREATED_AT, UPDATED_AT FROM TASKS "
+            + "WHERE TENANT_ID = ? ORDER BY CREATED_AT, ID LIMIT 20 OFFSET 0";
+    private static final String STATUS_QUERY = "SELECT ID, TITLE, DESCRIPTION, STATUS, CREATED_AT, UPDATED_AT FROM TASKS "
+            + "WHERE TENANT_ID = ? AND STATUS = ? ORDER BY CREATED_AT, ID LIMIT 20 OFFSET 0";
+
+    @Test
+    void listLatencyByTableSize() throws SQLException {
+        System.out.printf("%-10s %-8s %14s %14s%n", "rows", "schema", "list p50 (us)", "status p50 (us)");
+        for (final int rows : TABLE_SIZES) {
+            run(rows, "1");
+            run(rows, "latest");
+        }
+    }
+
+    private void run(final int rows, final String targetVersion) throws SQLException {
+        final String url = "jdbc:h2:mem:bench_" + rows + "_" + targetVersion + ";DB_CLOSE_DELAY=-1";
+        Flyway.configure()
+                .dataSource(url, "sa", "")
+                .locations("classpath:db/migration")
+                .target(targetVersion)
+                .load()
+                .migrate();
+
+        try (Connection connection = DriverManager.getConnection(url, "sa", "")) {
+            populate(connection, rows);
+            final long listP50 = medianMicros(connection, LIST_QUERY, false);
+            final long statusP50 = medianMicros(connection, STATUS_QUERY, true);
+            System.out.printf("%-10d %-8s %14d %14d%n", rows, "V" + targetVersion, listP50, statusP50);
+
+            try (PreparedStatement drop = connection.prepareStatement("DROP ALL OBJECTS")) {
+                drop.execute();
+            }
+        }
+    }
+
+    private void populate(final Connection connection, final int rows) throws SQLException {
+        connection.setAutoCommit(false);
+        final Instant start = Instant.now().minusSeconds(rows);
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO TASKS (ID, TITLE, DESCRIPTION, STATUS, CREATED_AT, UPDATED_AT, TENANT_ID) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, ?)")) {
+            for (int i = 0; i < rows; i++) {
+                final Timestamp createdAt = Timestamp.from(start.plusSeconds(i));
+                insert.setObject(1, UUID.randomUUID());
+                insert.setString(2, "Task " + i);
+                insert.setString(3, "Benchmark task");
+                insert.setString(4, STATUSES[i % STATUSES.length]);
+                insert.setTimestamp(5, createdAt);
+                insert.setTimestamp(6, createdAt);
+                insert.setString(7, TENANTS[i % TENANTS.length]);
+                insert.addBatch();
+                if (i % INSERT_BATCH_SIZE == INSERT_BATCH_SIZE - 1) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+        connection.commit();
+        connection.setAutoCommit(true);
+    }
+
+    private long medianMicros(final Connection connection, final String sql, final boolean withStatus) throws SQLException {
+        final long[] samples = new long[MEASURED_ROUNDS];
+        try (PreparedStatement query = connection.prepareStatement(sql)) {
+            for (int i = 0; i < WARMUP_ROUNDS + MEASURED_ROUNDS; i++) {
+                query.setString(1, TENANTS[i % TENANTS.length]);
+                if (withStatus) {
+                    query.setString(2, STATUSES[i % STATUSES.length]);
+                }
+                final long begin = System.nanoTime();
+                try (ResultSet resultSet = query.executeQuery()) {
+                    while (resultSet.next()) {
+                        resultSet.getObject(1);
+                    }
+                }
+                if (i >= WARMUP_ROUNDS) {
+                    samples[i - WARMUP_ROUNDS] = (System.nanoTime() - begin) / 1_000;
+                }
+            }
+        }
+        Arrays.sort(samples);
+        return samples[samples.length / 2];
+    }
+}
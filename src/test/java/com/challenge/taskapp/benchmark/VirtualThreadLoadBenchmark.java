@@ -0,0 +1,30 @@
+package com.challenge.taskapp.benchmark;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+/**
+ * Load test of the running application with request handling on platform threads (the default) and on virtual
+ * threads ({@code spring.threads.virtual.enabled}), reporting throughput and latency percentiles of
+ * {@code GET /tasks}. Run it with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+@DisplayName("Virtual thread load benchmark")
+class VirtualThreadLoadBenchmark {
+
+    private static final int CLIENTS = 400;
+    private static final Duration WARMUP = Duration.ofSeconds(10);
+    private static final Duration MEASUREMENT = Duration.ofSeconds(30);
+
+    @Test
+    void throughputAndLatencyByThreadModel() throws Exception {
+        HttpLoadDriver.Result.printHeader("threads");
+        HttpLoadDriver.run("platform", CLIENTS, WARMUP, MEASUREMENT, "spring.threads.virtual.enabled=false")
+                .print("platform");
+        HttpLoadDriver.run("virtual", CLIENTS, WARMUP, MEASUREMENT, "spring.threads.virtual.enabled=true")
+                .print("virtual");
+    }
+}
@@ -0,0 +1,153 @@
+package com.challenge.taskapp.cache;
+
+import com.challenge.taskapp.dto.TaskResponse;
+import com.challenge.taskapp.tenant.TenantIdentifierResolver;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+@ExtendWith(MockitoExtension.class)
+final class TaskCacheTest {
+
+    @Mock
+    private TenantIdentifierResolver tenantIdentifierResolver;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private TaskCache taskCache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        taskCache = new TaskCache(tenantIdentifierResolver, meterRegistry, 100, Duration.ofMinutes(1), 100, Duration.ofMinutes(1),
+                "", Duration.ZERO);
+    }
+
+    @Test
+    void testTaskIsNotVisibleToOtherTenants() {
+        final TaskResponse task = task();
+
+        Mockito.when(tenantIdentifierResolver.resolveCurrentTenantIdentifier()).thenReturn("tenant1");
+        taskCache.getTask(task.id(), () -> task);
+        Assertions.assertEquals(task, taskCache.getTask(task.id(), () -> null));
+
+        Mockito.when(tenantIdentifierResolver.resolveCurrentTenantIdentifier()).thenReturn("tenant2");
+        Assertions.assertNull(taskCache.getTask(task.id(), () -> null));
+    }
+
+    @Test
+    void testEvictOnlyAffectsCurrentTenant() {
+        final TaskResponse task = task();
+
+        Mockito.when(tenantIdentifierResolver.resolveCurrentTenantIdentifier()).thenReturn("tenant1");
+        taskCache.getList("all", () -> List.of(task));
+        Mockito.when(tenantIdentifierResolver.resolveCurrentTenantIdentifier()).thenReturn("tenant2");
+        taskCache.getList("all", () -> List.of(task));
+        taskCache.getTask(task.id(), () -> task);
+
+        taskCache.evict(List.of(task.id()));
+
+        Assertions.assertNull(taskCache.getTask(task.id(), () -> null));
+        Assertions.assertNull(taskCache.getList("all", () -> null));
+        Mockito.when(tenantIdentifierResolver.resolveCurrentTenantIdentifier()).thenReturn("tenant1");
+        Assertions.assertNotNull(taskCache.getList("all", () -> null));
+    }
+
+    @Test
+    void testListLoadedDuringWriteIsNotServed() {
+        final TaskResponse task = task();
+
+        Mockito.when(tenantIdentifierResolver.resolveCurrentTenantIdentifier()).thenReturn("tenant1");
+        taskCache.getList("all", () -> {
+            // A write commits while the list is being read
+            taskCache.evict(List.of(task.id()));
+            return List.of(task);
+        });
+
+        Assertions.assertNull(taskCache.getList("all", () -> null));
+    }
+
+    @Test
+    void testTaskLoadedDuringWriteIsNotServed() throws Exception {
+        final TaskResponse task = task();
+        final CountDownLatch loading = new CountDownLatch(1);
+        final CountDownLatch evicted = new CountDownLatch(1);
+
+        Mockito.when(tenantIdentifierResolver.resolveCurrentTenantIdentifier()).thenReturn("tenant1");
+        final CompletableFuture<TaskResponse> read = CompletableFuture.supplyAsync(() -> taskCache.getTask(task.id(), () -> {
+            loading.countDown();
+            await(evicted);
+            return task;
+        }));
+        Assertions.assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+        // A write commits while the task is being read: its eviction waits for the load and then drops it
+        final CompletableFuture<Void> write = CompletableFuture.runAsync(() -> taskCache.evict(List.of(task.id())));
+        evicted.countDown();
+        read.get(5, TimeUnit.SECONDS);
+        write.get(5, TimeUnit.SECONDS);
+
+        Assertions.assertNull(taskCache.getTask(task.id(), () -> null));
+    }
+
+    @Test
+    void testReplicaReadsAreNotCachedRightAfterWrite() {
+        final TaskCache replicaCache = new TaskCache(tenantIdentifierResolver, meterRegistry, 100, Duration.ofMinutes(1),
+                100, Duration.ofMinutes(1), "jdbc:h2:mem:replica", Duration.ofMinutes(1));
+        final TaskResponse task = task();
+
+        Mockito.when(tenantIdentifierResolver.resolveCurrentTenantIdentifier()).thenReturn("tenant1");
+        replicaCache.getTask(task.id(), () -> task);
+        replicaCache.evict(List.of(task.id()));
+
+        // Within the replica lag the read may be the old state, it is served but not kept
+        Assertions.assertEquals(task, replicaCache.getTask(task.id(), () -> task));
+        Assertions.assertNull(replicaCache.getTask(task.id(), () -> null));
+        Assertions.assertEquals(List.of(task), replicaCache.getList("all", () -> List.of(task)));
+        Assertions.assertNull(replicaCache.getList("all", () -> null));
+
+        // Other tenants keep using their cache
+        Mockito.when(tenantIdentifierResolver.resolveCurrentTenantIdentifier()).thenReturn("tenant2");
+        replicaCache.getTask(task.id(), () -> task);
+        Assertions.assertEquals(task, replicaCache.getTask(task.id(), () -> null));
+    }
+
+    @Test
+    void testHitsAndMissesArePublished() {
+        final TaskResponse task = task();
+
+        Mockito.when(tenantIdentifierResolver.resolveCurrentTenantIdentifier()).thenReturn("tenant1");
+        taskCache.getTask(task.id(), () -> task);
+        taskCache.getTask(task.id(), () -> task);
+
+        Assertions.assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "tasks").tag("result", "hit").functionCounter().count());
+        Assertions.assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "tasks").tag("result", "miss").functionCounter().count());
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static TaskResponse task() {
+        final Timestamp now = Timestamp.from(Instant.now());
+        return new TaskResponse(UUID.randomUUID(), "Task", "Description", "PENDING", now, now, 0L);
+    }
+}
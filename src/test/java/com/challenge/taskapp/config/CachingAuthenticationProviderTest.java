@@ -0,0 +1,85 @@
+package com.challenge.taskapp.config;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+
+import java.time.Duration;
+
+final class CachingAuthenticationProviderTest {
+
+    private PasswordEncoder passwordEncoder;
+    private InMemoryUserDetailsManager userDetailsManager;
+    private CachingAuthenticationProvider provider;
+
+    @BeforeEach
+    void setUp() {
+        passwordEncoder = Mockito.spy(new BCryptPasswordEncoder(4));
+        userDetailsManager = new InMemoryUserDetailsManager(
+                User.withUsername("user").password(passwordEncoder.encode("secret")).build());
+
+        final DaoAuthenticationProvider daoProvider = new DaoAuthenticationProvider(userDetailsManager);
+        daoProvider.setPasswordEncoder(passwordEncoder);
+        provider = new CachingAuthenticationProvider(daoProvider, userDetailsManager, 100, Duration.ofMinutes(5));
+    }
+
+    @Test
+    void testVerifiesPasswordOnlyOnce() {
+        final Authentication first = provider.authenticate(token("user", "secret"));
+        final Authentication second = provider.authenticate(token("user", "secret"));
+
+        Assertions.assertTrue(first.isAuthenticated());
+        Assertions.assertTrue(second.isAuthenticated());
+        Assertions.assertEquals("user", second.getName());
+        Mockito.verify(passwordEncoder, Mockito.times(1)).matches(Mockito.any(), Mockito.anyString());
+    }
+
+    @Test
+    void testRejectsWrongPasswordForCachedUser() {
+        provider.authenticate(token("user", "secret"));
+
+        Assertions.assertThrows(BadCredentialsException.class, () -> provider.authenticate(token("user", "wrong")));
+    }
+
+    @Test
+    void testWrongPasswordKeepsCachedCredential() {
+        provider.authenticate(token("user", "secret"));
+        Assertions.assertThrows(BadCredentialsException.class, () -> provider.authenticate(token("user", "wrong")));
+
+        Assertions.assertTrue(provider.authenticate(token("user", "secret")).isAuthenticated());
+        // The first login and the wrong password, not the login after it
+        Mockito.verify(passwordEncoder, Mockito.times(2)).matches(Mockito.any(), Mockito.anyString());
+    }
+
+    @Test
+    void testRemovedUserIsRejected() {
+        provider.authenticate(token("user", "secret"));
+
+        userDetailsManager.deleteUser("user");
+
+        Assertions.assertThrows(BadCredentialsException.class, () -> provider.authenticate(token("user", "secret")));
+    }
+
+    @Test
+    void testPasswordChangeInvalidatesCachedCredential() {
+        provider.authenticate(token("user", "secret"));
+
+        userDetailsManager.updateUser(User.withUsername("user").password(passwordEncoder.encode("changed")).build());
+
+        Assertions.assertThrows(BadCredentialsException.class, () -> provider.authenticate(token("user", "secret")));
+        Assertions.assertTrue(provider.authenticate(token("user", "changed")).isAuthenticated());
+    }
+
+    private static UsernamePasswordAuthenticationToken token(final String username, final String password) {
+        return UsernamePasswordAuthenticationToken.unauthenticated(username, password);
+    }
+}
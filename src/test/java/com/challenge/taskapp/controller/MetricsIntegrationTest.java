@@ -0,0 +1,57 @@
+package com.challenge.taskapp.controller;
+
+import com.challenge.taskapp.tenant.TenantContext;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@ActiveProfiles("test")
+@DisplayName("Metrics Tests")
+class MetricsIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("Should expose per-tenant request, statement and error metrics without authentication")
+    void shouldExposePrometheusMetricsWithoutAuthentication() throws Exception {
+        mockMvc.perform(get("/tasks").header(TenantContext.HEADER, "metrics-tenant").with(httpBasic("testuser", "testpass")))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/tasks/{id}", UUID.randomUUID()).header(TenantContext.HEADER, "metrics-tenant")
+                        .with(httpBasic("testuser", "testpass")))
+                .andExpect(status().isNotFound());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(allOf(
+                        containsString("http_server_requests_seconds_bucket{"),
+                        containsString("tenant=\"metrics-tenant\""),
+                        containsString("tasks_db_statements"),
+                        containsString("tasks_errors_total{exception=\"NotFoundException\",tenant=\"metrics-tenant\"}"),
+                        containsString("hikaricp_connections_acquire_seconds"))));
+    }
+
+    @Test
+    @DisplayName("Should allow health checks without authentication")
+    void shouldAllowHealthCheckWithoutAuthentication() throws Exception {
+        mockMvc.perform(get("/actuator/health"))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,99 @@
+package com.challenge.taskapp.controller;
+
+import com.challenge.taskapp.dto.AddTaskRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The replica is a second pool on the test database, standing in for a real replica.
+ */
+@SpringBootTest(properties = "app.datasource.replica.url=jdbc:h2:mem:testdb;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE")
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@ActiveProfiles("test")
+@DisplayName("Read Replica Tests")
+class ReadReplicaIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    @DisplayName("Should send writes to the primary pool and reads to the replica pool")
+    void shouldRouteReadsToReplica() throws Exception {
+        // Given
+        final long primaryBefore = acquisitions("primary");
+        final long replicaBefore = acquisitions("replica");
+
+        // When
+        final String created = mockMvc.perform(post("/tasks").with(httpBasic("testuser", "testpass"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new AddTaskRequest("Routed task", "Description"))))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        final long primaryAfterWrite = acquisitions("primary");
+        final long replicaAfterWrite = acquisitions("replica");
+
+        mockMvc.perform(get("/tasks/{id}", objectMapper.readTree(created).path("id").asText())
+                        .with(httpBasic("testuser", "testpass")))
+                .andExpect(status().isOk());
+
+        // Then
+        Assertions.assertTrue(primaryAfterWrite > primaryBefore);
+        Assertions.assertEquals(replicaBefore, replicaAfterWrite);
+        Assertions.assertTrue(acquisitions("replica") > replicaAfterWrite);
+    }
+
+    @Test
+    @DisplayName("Should not cache replica reads right after a write")
+    void shouldNotCacheReplicaReadsAfterWrite() throws Exception {
+        // Given
+        final String created = mockMvc.perform(post("/tasks").with(httpBasic("testuser", "testpass"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new AddTaskRequest("Fresh task", "Description"))))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        final String id = objectMapper.readTree(created).path("id").asText();
+        final long replicaBefore = acquisitions("replica");
+
+        // When
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(get("/tasks/{id}", id).with(httpBasic("testuser", "testpass")))
+                    .andExpect(status().isOk());
+        }
+
+        // Then
+        Assertions.assertEquals(replicaBefore + 2, acquisitions("replica"));
+    }
+
+    // Pools start on their first connection, until then they have no meter
+    private long acquisitions(final String pool) {
+        final Timer timer = meterRegistry.find("hikaricp.connections.acquire").tag("pool", pool).timer();
+        return timer == null ? 0 : timer.count();
+    }
+}
@@ -1,10 +1,24 @@
 package com.challenge.taskapp.controller;
 
+import com.challenge.taskapp.archive.TaskArchiver;
+import com.challenge.taskapp.archive.TaskTombstonePurger;
 import com.challenge.taskapp.dto.AddTaskRequest;
+import com.challenge.taskapp.dto.BatchCreateTasksRequest;
+import com.challenge.taskapp.dto.BatchUpdateTasksRequest;
+import com.challenge.taskapp.dto.DeleteTasksRequest;
+import com.challenge.taskapp.dto.TaskCursor;
+import com.challenge.taskapp.dto.TaskResponse;
+import com.challenge.taskapp.dto.UpdateTaskBatchItem;
 import com.challenge.taskapp.dto.UpdateTaskRequest;
+import com.challenge.taskapp.dto.UpdateTaskStatusRequest;
 import com.challenge.taskapp.enums.TaskStatus;
+import com.challenge.taskapp.model.Task;
 import com.challenge.taskapp.repository.TaskRepository;
+import com.challenge.taskapp.stats.TaskStatusCounters;
+import com.challenge.taskapp.tenant.TenantIdentifierResolver;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -12,15 +26,26 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureWebMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
+import static com.challenge.taskapp.metrics.SqlStatementAssertions.assertStatementCount;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasSize;
 import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -44,6 +69,21 @@ class TaskControllerIntegrationTest extends BaseIntegrationTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private TaskStatusCounters taskStatusCounters;
+
+    @Autowired
+    private TaskArchiver taskArchiver;
+
+    @Autowired
+    private TaskTombstonePurger taskTombstonePurger;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MappingJackson2CborHttpMessageConverter cborHttpMessageConverter;
+
     @BeforeEach
     void setUp() {
         mockMvc = MockMvcBuilders
@@ -62,9 +102,11 @@ class TaskControllerIntegrationTest extends BaseIntegrationTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.content").isArray())
                 .andExpect(jsonPath("$.content").isEmpty())
-                .andExpect(jsonPath("$.totalElements").value(0))
-                .andExpect(jsonPath("$.totalPages").value(0))
-                .andExpect(jsonPath("$.size").value(20));
+                .andExpect(jsonPath("$.total").value(0))
+                .andExpect(jsonPath("$.page").value(0))
+                .andExpect(jsonPath("$.size").value(20))
+                .andExpect(jsonPath("$.hasNext").value(false))
+                .andExpect(jsonPath("$.pageable").doesNotExist());
     }
 
     @Test
@@ -153,6 +195,171 @@ class TaskControllerIntegrationTest extends BaseIntegrationTest {
                 .andExpect(jsonPath("$.content[0].id").value(task1Id.toString()));
     }
 
+    @Test
+    @DisplayName("Should walk all tasks with keyset cursors")
+    void shouldWalkAllTasksWithKeysetCursors() throws Exception {
+        // Given
+        final UUID task1Id = createTestTask("Task1", "Description1");
+        final UUID task2Id = createTestTask("Task2", "Description2");
+        final UUID task3Id = createTestTask("Task3", "Description3");
+
+        // When & Then
+        final String firstPage = mockMvc.perform(get("/tasks")
+                        .param("after", "")
+                        .param("size", "2"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(2)))
+                .andExpect(jsonPath("$.content[0].id").value(task1Id.toString()))
+                .andExpect(jsonPath("$.content[1].id").value(task2Id.toString()))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.total").isEmpty())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        final String nextCursor = objectMapper.readTree(firstPage).path("nextCursor").asText();
+
+        mockMvc.perform(get("/tasks")
+                        .param("after", nextCursor)
+                        .param("size", "2"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].id").value(task3Id.toString()))
+                .andExpect(jsonPath("$.hasNext").value(false))
+                .andExpect(jsonPath("$.nextCursor").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should return 400 when keyset cursor is malformed")
+    void shouldReturn400WhenKeysetCursorIsMalformed() throws Exception {
+        mockMvc.perform(get("/tasks")
+                        .param("after", "not-a-cursor"))
+                .andDo(print())
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should export tasks as newline-delimited JSON")
+    void shouldExportTasksAsNdjson() throws Exception {
+        // Given
+        final UUID task1Id = createTestTask("Task1", "Description1");
+        final UUID task2Id = createTestTask("Task2", "Description2");
+        updateTaskStatus(task2Id, "Task2", "Description2", TaskStatus.IN_PROGRESS);
+
+        // When
+        final String allTasks = mockMvc.perform(get("/tasks/export"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        final String inProgressTasks = mockMvc.perform(get("/tasks/export")
+                        .param("status", "IN_PROGRESS")
+                        .param("updatedSince", "2000-01-01T00:00:00Z"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        // Then
+        final String[] allLines = allTasks.split("\n");
+        Assertions.assertEquals(2, allLines.length);
+        Assertions.assertEquals(task1Id.toString(), objectMapper.readTree(allLines[0]).path("id").asText());
+        Assertions.assertEquals(task2Id.toString(), objectMapper.readTree(allLines[1]).path("id").asText());
+
+        final String[] inProgressLines = inProgressTasks.split("\n");
+        Assertions.assertEquals(1, inProgressLines.length);
+        Assertions.assertEquals("IN_PROGRESS", objectMapper.readTree(inProgressLines[0]).path("status").asText());
+    }
+
+    @Test
+    @DisplayName("Should report creates and deletes in the change feed")
+    void shouldReportChangesInChangeFeed() throws Exception {
+        // Given
+        final UUID task1Id = createTestTask("Task1", "Description1");
+        final UUID task2Id = createTestTask("Task2", "Description2");
+        mockMvc.perform(delete("/tasks/{id}", task2Id))
+                .andExpect(status().isOk());
+
+        // When & Then
+        final String changes = mockMvc.perform(get("/tasks/changes")
+                        .param("since", "2000-01-01T00:00:00Z"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes", hasSize(2)))
+                .andExpect(jsonPath("$.changes[0].id").value(task1Id.toString()))
+                .andExpect(jsonPath("$.changes[0].type").value("CREATED"))
+                .andExpect(jsonPath("$.changes[0].task.title").value("Task1"))
+                .andExpect(jsonPath("$.changes[1].id").value(task2Id.toString()))
+                .andExpect(jsonPath("$.changes[1].type").value("DELETED"))
+                .andExpect(jsonPath("$.hasMore").value(false))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        final String nextCursor = objectMapper.readTree(changes).path("nextCursor").asText();
+
+        mockMvc.perform(get("/tasks/changes")
+                        .param("cursor", nextCursor))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes").isEmpty())
+                .andExpect(jsonPath("$.nextCursor").value(nextCursor));
+    }
+
+    @Test
+    @DisplayName("Should purge old tombstones and refuse cursors older than the retention")
+    void shouldPurgeTombstonesAndExpireCursors() throws Exception {
+        // Given
+        jdbcTemplate.update("DELETE FROM TASK_TOMBSTONES");
+        final UUID oldId = createTestTask("Old", "Description");
+        final UUID recentId = createTestTask("Recent", "Description");
+        mockMvc.perform(delete("/tasks/{id}", oldId))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/tasks/{id}", recentId))
+                .andExpect(status().isOk());
+        final Instant longAgo = Instant.now().minus(Duration.ofDays(60));
+        jdbcTemplate.update("UPDATE TASK_TOMBSTONES SET DELETED_AT = ? WHERE TASK_ID = ?", Timestamp.from(longAgo), oldId);
+
+        // When
+        final int purged = taskTombstonePurger.purge(Instant.now().minus(Duration.ofDays(30)));
+
+        // Then
+        Assertions.assertEquals(1, purged);
+        mockMvc.perform(get("/tasks/changes")
+                        .param("since", "2000-01-01T00:00:00Z"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes", hasSize(1)))
+                .andExpect(jsonPath("$.changes[0].id").value(recentId.toString()));
+        mockMvc.perform(get("/tasks/changes")
+                        .param("cursor", new TaskCursor(Timestamp.from(longAgo), TaskCursor.NIL_ID).encode()))
+                .andDo(print())
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should refuse to save a task read before a concurrent update")
+    void shouldRejectStaleWriteWithOptimisticLock() throws Exception {
+        // Given
+        final UUID taskId = createTestTask("Task", "Description");
+        final Task stale = taskRepository.findById(taskId).orElseThrow();
+
+        mockMvc.perform(put("/tasks/{id}", taskId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new UpdateTaskRequest("Winner", "Description", null))))
+                .andExpect(status().isOk());
+
+        // When & Then
+        stale.setTitle("Loser");
+        Assertions.assertThrows(OptimisticLockingFailureException.class, () -> taskRepository.save(stale));
+
+        mockMvc.perform(get("/tasks/{id}", taskId))
+                .andExpect(jsonPath("$.title").value("Winner"));
+    }
+
     @Nested
     @DisplayName("GET /tasks/{id}")
     class GetTaskByIdTests {
@@ -238,6 +445,93 @@ class TaskControllerIntegrationTest extends BaseIntegrationTest {
         }
     }
 
+    @Nested
+    @DisplayName("POST /tasks/batch")
+    class CreateTasksBatchTests {
+
+        @Test
+        @DisplayName("Should create valid items and report invalid ones")
+        void shouldCreateValidItemsAndReportInvalidOnes() throws Exception {
+            // Given
+            final BatchCreateTasksRequest request = new BatchCreateTasksRequest(List.of(
+                    new AddTaskRequest("Batch Task 1", "Description"),
+                    new AddTaskRequest("ab", "Title too short"),
+                    new AddTaskRequest("Batch Task 3", null)));
+
+            // When & Then
+            mockMvc.perform(post("/tasks/batch")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andDo(print())
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.succeeded").value(2))
+                    .andExpect(jsonPath("$.failed").value(1))
+                    .andExpect(jsonPath("$.results[0].status").value("CREATED"))
+                    .andExpect(jsonPath("$.results[0].id").exists())
+                    .andExpect(jsonPath("$.results[1].status").value("FAILED"))
+                    .andExpect(jsonPath("$.results[1].error").exists())
+                    .andExpect(jsonPath("$.results[2].status").value("CREATED"));
+
+            mockMvc.perform(get("/tasks"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content", hasSize(2)));
+        }
+
+        @Test
+        @DisplayName("Should reject the whole batch when atomic and an item is invalid")
+        void shouldRejectWholeBatchWhenAtomic() throws Exception {
+            // Given
+            final BatchCreateTasksRequest request = new BatchCreateTasksRequest(List.of(
+                    new AddTaskRequest("Batch Task 1", "Description"),
+                    new AddTaskRequest(null, "Missing title")));
+
+            // When & Then
+            mockMvc.perform(post("/tasks/batch")
+                            .param("atomic", "true")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andDo(print())
+                    .andExpect(status().isBadRequest());
+
+            mockMvc.perform(get("/tasks"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content").isEmpty());
+        }
+    }
+
+    @Nested
+    @DisplayName("PUT /tasks/batch")
+    class UpdateTasksBatchTests {
+
+        @Test
+        @DisplayName("Should update existing tasks and report missing ones")
+        void shouldUpdateExistingTasksAndReportMissingOnes() throws Exception {
+            // Given
+            final UUID taskId = createTestTask("Original Title", "Original Description");
+            final UUID nonExistentId = UUID.randomUUID();
+            final BatchUpdateTasksRequest request = new BatchUpdateTasksRequest(List.of(
+                    new UpdateTaskBatchItem(taskId, new UpdateTaskRequest("Updated Title", "Updated Description", TaskStatus.IN_PROGRESS)),
+                    new UpdateTaskBatchItem(nonExistentId, new UpdateTaskRequest("Title", "Description", null))));
+
+            // When & Then
+            mockMvc.perform(put("/tasks/batch")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andDo(print())
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.succeeded").value(1))
+                    .andExpect(jsonPath("$.failed").value(1))
+                    .andExpect(jsonPath("$.results[0].status").value("UPDATED"))
+                    .andExpect(jsonPath("$.results[1].status").value("FAILED"))
+                    .andExpect(jsonPath("$.results[1].id").value(nonExistentId.toString()));
+
+            mockMvc.perform(get("/tasks/{id}", taskId))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.title").value("Updated Title"))
+                    .andExpect(jsonPath("$.status").value("IN_PROGRESS"));
+        }
+    }
+
     @Nested
     @DisplayName("PUT /tasks/{id}")
     class UpdateTaskTests {
@@ -342,5 +636,547 @@ class TaskControllerIntegrationTest extends BaseIntegrationTest {
                     .andDo(print())
                     .andExpect(status().isNotFound());
         }
+
+        @Test
+        @DisplayName("Should delete a batch of tasks and report ids not found")
+        void shouldDeleteBatchOfTasks() throws Exception {
+            // Given
+            final UUID task1Id = createTestTask("Task1", "Description1");
+            final UUID task2Id = createTestTask("Task2", "Description2");
+            final UUID nonExistentId = UUID.randomUUID();
+
+            // When & Then
+            mockMvc.perform(delete("/tasks")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new DeleteTasksRequest(List.of(task1Id, task2Id, nonExistentId)))))
+                    .andDo(print())
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.deleted", hasSize(2)))
+                    .andExpect(jsonPath("$.notFound", hasSize(1)))
+                    .andExpect(jsonPath("$.notFound[0]").value(nonExistentId.toString()));
+
+            mockMvc.perform(get("/tasks/{id}", task1Id))
+                    .andExpect(status().isNotFound());
+        }
+
+        @Test
+        @DisplayName("Should return 400 when batch delete has no ids")
+        void shouldReturn400WhenBatchDeleteHasNoIds() throws Exception {
+            mockMvc.perform(delete("/tasks")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new DeleteTasksRequest(List.of()))))
+                    .andDo(print())
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    @Nested
+    @DisplayName("Conditional requests")
+    class ConditionalRequestTests {
+
+        @Test
+        @DisplayName("Should return 304 when task ETag still matches")
+        void shouldReturn304WhenTaskETagMatches() throws Exception {
+            // Given
+            final UUID taskId = createTestTask("Cached Task", "Description");
+            final String etag = mockMvc.perform(get("/tasks/{id}", taskId))
+                    .andExpect(status().isOk())
+                    .andExpect(header().exists("ETag"))
+                    .andReturn().getResponse().getHeader("ETag");
+
+            // When & Then
+            mockMvc.perform(get("/tasks/{id}", taskId).header("If-None-Match", etag))
+                    .andDo(print())
+                    .andExpect(status().isNotModified())
+                    .andExpect(content().string(""));
+        }
+
+        @Test
+        @DisplayName("Should return 304 for an unchanged list and 200 once a task was written")
+        void shouldRevalidateListETagAfterWrite() throws Exception {
+            // Given
+            createTestTask("Task1", "Description1");
+            final String etag = mockMvc.perform(get("/tasks").param("size", "5"))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getHeader("ETag");
+
+            // When & Then
+            mockMvc.perform(get("/tasks").param("size", "5").header("If-None-Match", etag))
+                    .andExpect(status().isNotModified());
+
+            createTestTask("Task2", "Description2");
+
+            mockMvc.perform(get("/tasks").param("size", "5").header("If-None-Match", etag))
+                    .andDo(print())
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content", hasSize(2)));
+        }
+
+        @Test
+        @DisplayName("Should tag every list query separately, whatever the order of its parameters")
+        void shouldTagListPerQuery() throws Exception {
+            // Given
+            createTestTask("Task1", "Description1");
+            final String etag = mockMvc.perform(get("/tasks?size=5&page=0"))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getHeader("ETag");
+
+            // When & Then
+            mockMvc.perform(get("/tasks?page=0&size=5").header("If-None-Match", etag))
+                    .andExpect(status().isNotModified());
+            mockMvc.perform(get("/tasks?size=5&page=1").header("If-None-Match", etag))
+                    .andDo(print())
+                    .andExpect(status().isOk());
+        }
+
+        @Test
+        @DisplayName("Should return 412 when updating with a stale If-Match")
+        void shouldReturn412WhenUpdatingWithStaleETag() throws Exception {
+            // Given
+            final UUID taskId = createTestTask("Task", "Description");
+            final String etag = mockMvc.perform(get("/tasks/{id}", taskId))
+                    .andReturn().getResponse().getHeader("ETag");
+            final UpdateTaskRequest updateRequest = new UpdateTaskRequest("Updated", "Description", TaskStatus.IN_PROGRESS);
+
+            final String newETag = mockMvc.perform(put("/tasks/{id}", taskId)
+                            .header("If-Match", etag)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(updateRequest)))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getHeader("ETag");
+            Assertions.assertNotEquals(etag, newETag);
+
+            // When & Then
+            mockMvc.perform(put("/tasks/{id}", taskId)
+                            .header("If-Match", etag)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(updateRequest)))
+                    .andDo(print())
+                    .andExpect(status().isPreconditionFailed());
+        }
+
+        @Test
+        @DisplayName("Should delete only while If-Match is current")
+        void shouldDeleteOnlyWhileETagIsCurrent() throws Exception {
+            // Given
+            final UUID taskId = createTestTask("Task", "Description");
+            final String etag = mockMvc.perform(get("/tasks/{id}", taskId))
+                    .andReturn().getResponse().getHeader("ETag");
+
+            // When & Then
+            mockMvc.perform(delete("/tasks/{id}", taskId).header("If-Match", "\"" + UUID.randomUUID() + "-0\""))
+                    .andDo(print())
+                    .andExpect(status().isPreconditionFailed());
+
+            mockMvc.perform(delete("/tasks/{id}", taskId).header("If-Match", etag))
+                    .andExpect(status().isOk());
+        }
+    }
+
+    @Nested
+    @DisplayName("PATCH /tasks/{id}/status")
+    class UpdateTaskStatusTests {
+
+        @Test
+        @DisplayName("Should move a task through its statuses and bump its version")
+        void shouldTransitionStatus() throws Exception {
+            // Given
+            final UUID taskId = createTestTask("Task", "Description");
+
+            // When & Then
+            mockMvc.perform(patch("/tasks/{id}/status", taskId)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new UpdateTaskStatusRequest(TaskStatus.IN_PROGRESS))))
+                    .andDo(print())
+                    .andExpect(status().isOk());
+
+            mockMvc.perform(patch("/tasks/{id}/status", taskId)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new UpdateTaskStatusRequest(TaskStatus.DONE))))
+                    .andExpect(status().isOk());
+
+            mockMvc.perform(get("/tasks/{id}", taskId))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.status").value("DONE"))
+                    .andExpect(jsonPath("$.version").value(2));
+        }
+
+        @Test
+        @DisplayName("Should return 400 when skipping IN_PROGRESS")
+        void shouldReturn400WhenTransitionNotAllowed() throws Exception {
+            // Given
+            final UUID taskId = createTestTask("Task", "Description");
+
+            // When & Then
+            mockMvc.perform(patch("/tasks/{id}/status", taskId)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new UpdateTaskStatusRequest(TaskStatus.DONE))))
+                    .andDo(print())
+                    .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        @DisplayName("Should return 404 when task does not exist")
+        void shouldReturn404WhenTaskNotFound() throws Exception {
+            mockMvc.perform(patch("/tasks/{id}/status", UUID.randomUUID())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new UpdateTaskStatusRequest(TaskStatus.IN_PROGRESS))))
+                    .andDo(print())
+                    .andExpect(status().isNotFound());
+        }
+    }
+
+    @Nested
+    @DisplayName("SQL statements per request")
+    class StatementCountTests {
+
+        @Test
+        @DisplayName("Should read a task once and then serve it from the cache")
+        void shouldFindTaskWithOneStatement() throws Throwable {
+            final UUID taskId = createTestTask("Task", "Description");
+
+            assertStatementCount(1, () -> mockMvc.perform(get("/tasks/{id}", taskId)).andExpect(status().isOk()));
+            assertStatementCount(0, () -> mockMvc.perform(get("/tasks/{id}", taskId)).andExpect(status().isOk()));
+        }
+
+        @Test
+        @DisplayName("Should read a keyset slice with one statement and no count query")
+        void shouldReadKeysetSliceWithOneStatement() throws Throwable {
+            createTestTask("Task1", "Description1");
+            createTestTask("Task2", "Description2");
+
+            assertStatementCount(1, () -> mockMvc.perform(get("/tasks").param("after", "").param("size", "1"))
+                    .andExpect(status().isOk()));
+        }
+
+        @Test
+        @DisplayName("Should read a page without its total with one statement")
+        void shouldReadPageWithoutTotalWithOneStatement() throws Throwable {
+            createTestTask("Task1", "Description1");
+            createTestTask("Task2", "Description2");
+
+            assertStatementCount(1, () -> mockMvc.perform(get("/tasks").param("withTotal", "false").param("size", "1"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content", hasSize(1)))
+                    .andExpect(jsonPath("$.total").isEmpty())
+                    .andExpect(jsonPath("$.hasNext").value(true)));
+        }
+
+        @Test
+        @DisplayName("Should change a status with a single UPDATE")
+        void shouldUpdateStatusWithOneStatement() throws Throwable {
+            final UUID taskId = createTestTask("Task", "Description");
+
+            assertStatementCount(1, () -> mockMvc.perform(patch("/tasks/{id}/status", taskId)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new UpdateTaskStatusRequest(TaskStatus.IN_PROGRESS))))
+                    .andExpect(status().isOk()));
+            // PENDING may follow any status, still a single UPDATE
+            assertStatementCount(1, () -> mockMvc.perform(patch("/tasks/{id}/status", taskId)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new UpdateTaskStatusRequest(TaskStatus.PENDING))))
+                    .andExpect(status().isOk()));
+        }
+
+        @Test
+        @DisplayName("Should read the status, delete the task, insert its tombstone and drop its search terms")
+        void shouldDeleteTaskWithFourStatements() throws Throwable {
+            final UUID taskId = createTestTask("Task", "Description");
+
+            assertStatementCount(4, () -> mockMvc.perform(delete("/tasks/{id}", taskId)).andExpect(status().isOk()));
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /tasks/search")
+    class SearchTaskTests {
+
+        @Test
+        @DisplayName("Should rank tasks by relevance and follow updates and deletes")
+        void shouldSearchByRelevance() throws Exception {
+            // Given
+            final UUID titleMatch = createTestTask("Quarterly report", "Numbers for the board");
+            final UUID descriptionMatch = createTestTask("Board meeting", "Bring the quarterly report");
+            final UUID noMatch = createTestTask("Groceries", "Milk and bread");
+
+            // When & Then
+            mockMvc.perform(get("/tasks/search").param("q", "Report"))
+                    .andDo(print())
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content", hasSize(2)))
+                    .andExpect(jsonPath("$.content[0].id").value(titleMatch.toString()))
+                    .andExpect(jsonPath("$.content[1].id").value(descriptionMatch.toString()))
+                    .andExpect(jsonPath("$.hasNext").value(false));
+
+            mockMvc.perform(put("/tasks/{id}", noMatch)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new UpdateTaskRequest("Report on groceries", "Milk", null))))
+                    .andExpect(status().isOk());
+            mockMvc.perform(delete("/tasks/{id}", titleMatch))
+                    .andExpect(status().isOk());
+
+            mockMvc.perform(get("/tasks/search").param("q", "report").param("size", "1"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content", hasSize(1)))
+                    .andExpect(jsonPath("$.hasNext").value(true));
+            mockMvc.perform(get("/tasks/search").param("q", "bread"))
+                    .andExpect(jsonPath("$.content", hasSize(0)));
+        }
+
+        @Test
+        @DisplayName("Should only search the tasks of the current tenant")
+        void shouldSearchWithinTenant() throws Exception {
+            // Given
+            createTestTask("Tenant report", "Description");
+
+            // When & Then
+            mockMvc.perform(get("/tasks/search").param("q", "report").header("X-TenantID", "other-tenant"))
+                    .andDo(print())
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content", hasSize(0)));
+        }
+
+        @Test
+        @DisplayName("Should return 400 when the query has no searchable word")
+        void shouldReturn400WhenQueryIsBlank() throws Exception {
+            mockMvc.perform(get("/tasks/search").param("q", " ! "))
+                    .andDo(print())
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /tasks/stats")
+    class TaskStatsTests {
+
+        @Test
+        @DisplayName("Should count tasks per status before and after the counters are flushed")
+        void shouldCountTasksPerStatus() throws Exception {
+            // Given
+            taskStatusCounters.reconcile();
+            final UUID started = createTestTask("Started", "Description");
+            final UUID deleted = createTestTask("Deleted", "Description");
+            createTestTask("Pending", "Description");
+            mockMvc.perform(patch("/tasks/{id}/status", started)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new UpdateTaskStatusRequest(TaskStatus.IN_PROGRESS))))
+                    .andExpect(status().isOk());
+            mockMvc.perform(delete("/tasks/{id}", deleted))
+                    .andExpect(status().isOk());
+
+            // When & Then
+            // Creates and deletes count right away, the status change once its tenant is recounted by the flush
+            mockMvc.perform(get("/tasks/stats"))
+                    .andDo(print())
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.counts.DONE").value(0))
+                    .andExpect(jsonPath("$.total").value(2));
+
+            taskStatusCounters.flush();
+
+            mockMvc.perform(get("/tasks/stats"))
+                    .andExpect(jsonPath("$.counts.PENDING").value(1))
+                    .andExpect(jsonPath("$.counts.IN_PROGRESS").value(1))
+                    .andExpect(jsonPath("$.counts.DONE").value(0))
+                    .andExpect(jsonPath("$.total").value(2));
+        }
+
+        @Test
+        @DisplayName("Should only count the tasks of the current tenant")
+        void shouldCountWithinTenant() throws Exception {
+            // Given
+            taskStatusCounters.reconcile();
+            createTestTask("Task", "Description");
+            taskStatusCounters.flush();
+
+            // When & Then
+            mockMvc.perform(get("/tasks/stats").header("X-TenantID", "stats-tenant"))
+                    .andDo(print())
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.total").value(0));
+        }
+    }
+
+    @Nested
+    @DisplayName("POST /tasks?async=true")
+    class CreateTaskAsyncTests {
+
+        @Test
+        @DisplayName("Should accept a task with its id and insert it shortly after")
+        void shouldAcceptAndInsertTask() throws Exception {
+            // Given
+            final AddTaskRequest request = new AddTaskRequest("Queued task", "Inserted in the background");
+
+            // When
+            final String response = mockMvc.perform(post("/tasks").param("async", "true")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andDo(print())
+                    .andExpect(status().isAccepted())
+                    .andExpect(header().exists("Location"))
+                    .andExpect(jsonPath("$.id").exists())
+                    .andReturn()
+                    .getResponse()
+                    .getContentAsString();
+            final UUID taskId = UUID.fromString(objectMapper.readTree(response).path("id").asText());
+
+            // Then
+            final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (taskRepository.findById(taskId).isEmpty() && System.nanoTime() < deadline) {
+                Thread.sleep(20);
+            }
+            mockMvc.perform(get("/tasks/{id}", taskId))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.title").value("Queued task"))
+                    .andExpect(jsonPath("$.status").value("PENDING"));
+        }
+
+        @Test
+        @DisplayName("Should return 400 without queueing an invalid task")
+        void shouldReturn400WhenTaskIsInvalid() throws Exception {
+            mockMvc.perform(post("/tasks").param("async", "true")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new AddTaskRequest("", "Description"))))
+                    .andDo(print())
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    @Nested
+    @DisplayName("Archival of DONE tasks")
+    class ArchiveTests {
+
+        @AfterEach
+        void tearDown() {
+            jdbcTemplate.update("DELETE FROM TASKS_ARCHIVE");
+        }
+
+        @Test
+        @DisplayName("Should move old DONE tasks out of the default lists and keep them readable")
+        void shouldArchiveOldDoneTasks() throws Exception {
+            // Given
+            final UUID done = createTestTask("Done long ago", "Description");
+            final UUID pending = createTestTask("Pending", "Description");
+            updateTaskStatus(done, "Done long ago", "Description", TaskStatus.IN_PROGRESS);
+            updateTaskStatus(done, "Done long ago", "Description", TaskStatus.DONE);
+            jdbcTemplate.update("UPDATE TASKS SET UPDATED_AT = ? WHERE ID = ?",
+                    Timestamp.from(Instant.now().minus(Duration.ofDays(60))), done);
+
+            // When
+            final Map<String, Long> archived = taskArchiver.archive();
+
+            // Then
+            Assertions.assertEquals(1L, archived.get(TenantIdentifierResolver.DEFAULT_TENANT));
+            mockMvc.perform(get("/tasks"))
+                    .andDo(print())
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content", hasSize(1)))
+                    .andExpect(jsonPath("$.content[0].id").value(pending.toString()));
+            mockMvc.perform(get("/tasks").param("includeArchived", "true"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content", hasSize(2)))
+                    .andExpect(jsonPath("$.content[0].id").value(done.toString()));
+            mockMvc.perform(get("/tasks").param("after", "").param("status", "DONE").param("includeArchived", "true"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content", hasSize(1)));
+            mockMvc.perform(get("/tasks/{id}", done))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.status").value("DONE"));
+            mockMvc.perform(delete("/tasks/{id}", done))
+                    .andExpect(status().isNotFound());
+        }
+
+        @Test
+        @DisplayName("Should leave recent DONE tasks and other statuses in place")
+        void shouldKeepRecentTasks() throws Exception {
+            // Given
+            final UUID done = createTestTask("Done today", "Description");
+            createTestTask("Pending", "Description");
+            updateTaskStatus(done, "Done today", "Description", TaskStatus.IN_PROGRESS);
+            updateTaskStatus(done, "Done today", "Description", TaskStatus.DONE);
+
+            // When
+            final Map<String, Long> archived = taskArchiver.archive();
+
+            // Then
+            Assertions.assertNull(archived.get(TenantIdentifierResolver.DEFAULT_TENANT));
+            mockMvc.perform(get("/tasks"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content", hasSize(2)));
+        }
+    }
+
+    @Nested
+    @DisplayName("Content negotiation")
+    class ContentNegotiationTests {
+
+        @Test
+        @DisplayName("Should answer in CBOR when asked and in JSON by default")
+        void shouldNegotiateCbor() throws Exception {
+            // Given
+            final UUID taskId = createTestTask("Binary task", "Description");
+
+            // When
+            final byte[] cbor = mockMvc.perform(get("/tasks/{id}", taskId).accept(MediaType.APPLICATION_CBOR))
+                    .andDo(print())
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                    .andReturn()
+                    .getResponse()
+                    .getContentAsByteArray();
+
+            // Then
+            final TaskResponse task = cborHttpMessageConverter.getObjectMapper().readValue(cbor, TaskResponse.class);
+            Assertions.assertEquals(taskId, task.id());
+            Assertions.assertEquals("Binary task", task.title());
+            Assertions.assertNotNull(task.createdAt());
+            mockMvc.perform(get("/tasks/{id}", taskId))
+                    .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(jsonPath("$.title").value("Binary task"));
+        }
+
+        @Test
+        @DisplayName("Should tag JSON and CBOR representations differently and vary on Accept")
+        void shouldTagEachFormatSeparately() throws Exception {
+            // Given
+            final UUID taskId = createTestTask("Tagged task", "Description");
+            final String jsonETag = mockMvc.perform(get("/tasks/{id}", taskId))
+                    .andExpect(header().string("Vary", containsString("Accept")))
+                    .andReturn().getResponse().getHeader("ETag");
+            final String cborETag = mockMvc.perform(get("/tasks/{id}", taskId).accept(MediaType.APPLICATION_CBOR))
+                    .andExpect(header().string("Vary", containsString("Accept")))
+                    .andReturn().getResponse().getHeader("ETag");
+            Assertions.assertNotEquals(jsonETag, cborETag);
+            final UpdateTaskRequest updateRequest = new UpdateTaskRequest("Retagged", "Description", TaskStatus.PENDING);
+
+            // When & Then
+            mockMvc.perform(get("/tasks/{id}", taskId)
+                            .accept(MediaType.APPLICATION_CBOR)
+                            .header("If-None-Match", jsonETag))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(MediaType.APPLICATION_CBOR));
+            mockMvc.perform(get("/tasks/{id}", taskId)
+                            .accept(MediaType.APPLICATION_CBOR)
+                            .header("If-None-Match", cborETag))
+                    .andExpect(status().isNotModified());
+            mockMvc.perform(put("/tasks/{id}", taskId)
+                            .header("If-Match", cborETag)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(updateRequest)))
+                    .andDo(print())
+                    .andExpect(status().isOk());
+        }
+
+        @Test
+        @DisplayName("Should accept a CBOR request body")
+        void shouldReadCborRequest() throws Exception {
+            mockMvc.perform(post("/tasks")
+                            .contentType(MediaType.APPLICATION_CBOR)
+                            .content(cborHttpMessageConverter.getObjectMapper()
+                                    .writeValueAsBytes(new AddTaskRequest("CBOR task", "Description"))))
+                    .andDo(print())
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.title").value("CBOR task"));
+        }
     }
 }
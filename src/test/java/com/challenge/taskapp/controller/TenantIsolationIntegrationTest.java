@@ -0,0 +1,132 @@
+package com.challenge.taskapp.controller;
+
+import com.challenge.taskapp.dto.AddTaskRequest;
+import com.challenge.taskapp.tenant.TenantContext;
+import com.challenge.taskapp.tenant.TenantMigrator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The isolated databases are in-memory H2 databases next to the shared test database.
+ */
+@SpringBootTest(properties = {
+        "app.tenancy.tenants.isolated-database.mode=DATABASE",
+        "app.tenancy.tenants.isolated-database.url=jdbc:h2:mem:isolated;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "app.tenancy.tenants.isolated-schema.mode=SCHEMA",
+        "app.tenancy.tenants.isolated-schema.schema=ISOLATED_SCHEMA",
+        "app.tenancy.tenants.moved.mode=DATABASE",
+        "app.tenancy.tenants.moved.url=jdbc:h2:mem:moved;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Tenant Isolation Tests")
+class TenantIsolationIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TenantMigrator tenantMigrator;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource sharedDataSource;
+
+    @Test
+    @DisplayName("Should store the tasks of a DATABASE tenant outside the shared tables")
+    void shouldIsolateDatabaseTenant() throws Exception {
+        // Given
+        final String id = createTask("isolated-database", "Isolated task");
+
+        // When & Then
+        mockMvc.perform(get("/tasks/{id}", id).header(TenantContext.HEADER, "isolated-database")
+                        .with(httpBasic("testuser", "testpass")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Isolated task"));
+        mockMvc.perform(get("/tasks/{id}", id).header(TenantContext.HEADER, "isolated-schema")
+                        .with(httpBasic("testuser", "testpass")))
+                .andExpect(status().isNotFound());
+        Assertions.assertEquals(0, sharedTasks("isolated-database"));
+    }
+
+    @Test
+    @DisplayName("Should store the tasks of a SCHEMA tenant in its own schema")
+    void shouldIsolateSchemaTenant() throws Exception {
+        // Given
+        final String id = createTask("isolated-schema", "Schema task");
+
+        // When & Then
+        mockMvc.perform(get("/tasks/{id}", id).header(TenantContext.HEADER, "isolated-schema")
+                        .with(httpBasic("testuser", "testpass")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Schema task"));
+        Assertions.assertEquals(0, sharedTasks("isolated-schema"));
+        Assertions.assertEquals(1, new JdbcTemplate(sharedDataSource).queryForObject(
+                "SELECT COUNT(*) FROM ISOLATED_SCHEMA.TASKS WHERE ID = ?", Long.class, UUID.fromString(id)));
+    }
+
+    @Test
+    @DisplayName("Should move the rows of a tenant out of the shared tables")
+    void shouldMigrateTenant() throws Exception {
+        // Given
+        final UUID id = UUID.randomUUID();
+        final Timestamp now = Timestamp.from(Instant.now());
+        new JdbcTemplate(sharedDataSource).update(
+                "INSERT INTO TASKS (ID, TITLE, DESCRIPTION, STATUS, CREATED_AT, UPDATED_AT, TENANT_ID, VERSION) "
+                        + "VALUES (?, 'Shared task', 'Description', 'PENDING', ?, ?, 'moved', 0)", id, now, now);
+
+        // When
+        Assertions.assertEquals(1L, tenantMigrator.migrate("moved").get("TASKS"));
+
+        // Then
+        Assertions.assertEquals(0, sharedTasks("moved"));
+        mockMvc.perform(get("/tasks/{id}", id).header(TenantContext.HEADER, "moved")
+                        .with(httpBasic("testuser", "testpass")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Shared task"));
+
+        // Running it again moves nothing and loses nothing
+        Assertions.assertEquals(0L, tenantMigrator.migrate("moved").get("TASKS"));
+    }
+
+    private String createTask(final String tenant, final String title) throws Exception {
+        final String created = mockMvc.perform(post("/tasks").header(TenantContext.HEADER, tenant)
+                        .with(httpBasic("testuser", "testpass"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new AddTaskRequest(title, "Description"))))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        return objectMapper.readTree(created).path("id").asText();
+    }
+
+    private long sharedTasks(final String tenant) {
+        return new JdbcTemplate(sharedDataSource).queryForObject(
+                "SELECT COUNT(*) FROM TASKS WHERE TENANT_ID = ?", Long.class, tenant);
+    }
+}
@@ -0,0 +1,76 @@
+package com.challenge.taskapp.controller;
+
+import com.challenge.taskapp.tenant.TenantContext;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "app.quota.enabled=true",
+        "app.quota.tenants.limited.rate=0.1",
+        "app.quota.tenants.limited.burst=2",
+        "app.quota.tenants.limited.concurrency=10",
+        "app.quota.tenants.guarded.rate=0.1",
+        "app.quota.tenants.guarded.burst=2",
+        "app.quota.tenants.guarded.concurrency=10"
+})
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@ActiveProfiles("test")
+@DisplayName("Tenant Quota Tests")
+class TenantQuotaIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("Should answer 429 with Retry-After once a tenant exceeds its rate, without affecting other tenants")
+    void shouldThrottleTenantOverItsRate() throws Exception {
+        // Given
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(get("/tasks").header(TenantContext.HEADER, "limited").with(httpBasic("testuser", "testpass")))
+                    .andExpect(status().isOk());
+        }
+
+        // When & Then
+        mockMvc.perform(get("/tasks").header(TenantContext.HEADER, "limited").with(httpBasic("testuser", "testpass")))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists("Retry-After"))
+                .andExpect(jsonPath("$.status").value(429));
+        mockMvc.perform(get("/tasks").header(TenantContext.HEADER, "unlimited").with(httpBasic("testuser", "testpass")))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("tasks_throttled_total{reason=\"rate\",tenant=\"limited\"}")));
+    }
+
+    @Test
+    @DisplayName("Should not charge requests that fail authentication to the tenant they name")
+    void shouldNotThrottleTenantForUnauthenticatedRequests() throws Exception {
+        // Given
+        for (int i = 0; i < 5; i++) {
+            mockMvc.perform(get("/tasks").header(TenantContext.HEADER, "guarded").with(httpBasic("testuser", "wrong")))
+                    .andExpect(status().isUnauthorized());
+        }
+
+        // When & Then
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(get("/tasks").header(TenantContext.HEADER, "guarded").with(httpBasic("testuser", "testpass")))
+                    .andExpect(status().isOk());
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.challenge.taskapp.ingest;
+
+import com.challenge.taskapp.dto.AddTaskRequest;
+import com.challenge.taskapp.exception.TaskQueueFullException;
+import com.challenge.taskapp.metrics.TenantTags;
+import com.challenge.taskapp.service.TaskService;
+import com.challenge.taskapp.tenant.TenantContext;
+import com.challenge.taskapp.tenant.TenantIdentifierResolver;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+@ExtendWith(MockitoExtension.class)
+final class TaskIngestQueueTest {
+
+    @Mock
+    private TaskService taskService;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private final CountDownLatch firstBatchStarted = new CountDownLatch(1);
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    // Tenant and size of every batch, in insertion order
+    private final List<String> batches = Collections.synchronizedList(new ArrayList<>());
+
+    private TaskIngestQueue queue;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        // The first batch blocks until released, so the test can line up tasks behind it
+        Mockito.doAnswer(invocation -> {
+            final List<QueuedTask> batch = invocation.getArgument(0);
+            batches.add(TenantContext.getCurrentTenant() + ":" + batch.size());
+            firstBatchStarted.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(taskService).createQueued(Mockito.anyList());
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        queue.stop();
+    }
+
+    @Test
+    void testTenantsAreServedInTurn() throws InterruptedException {
+        queue = start(100, 100, 2);
+
+        submit("tenantA");
+        Assertions.assertTrue(firstBatchStarted.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 4; i++) {
+            submit("tenantA");
+        }
+        submit("tenantB");
+
+        release.countDown();
+        queue.stop();
+
+        Assertions.assertEquals(List.of("tenantA:1", "tenantB:1", "tenantA:2", "tenantA:2"), batches);
+    }
+
+    @Test
+    void testSubmitIsRejectedWhenTenantShareOrQueueIsFull() throws InterruptedException {
+        queue = start(3, 2, 10);
+
+        submit("tenantA");
+        Assertions.assertTrue(firstBatchStarted.await(5, TimeUnit.SECONDS));
+        submit("tenantA");
+        Assertions.assertThrows(TaskQueueFullException.class, () -> submit("tenantA"));
+        submit("tenantB");
+        Assertions.assertThrows(TaskQueueFullException.class, () -> submit("tenantC"));
+
+        Assertions.assertEquals(2, meterRegistry.find("tasks.ingest.rejected").counters().stream()
+                .mapToDouble(counter -> counter.count()).sum());
+    }
+
+    @Test
+    void testStopInsertsQueuedTasksAndRejectsNewOnes() throws InterruptedException {
+        queue = start(100, 100, 10);
+
+        submit("tenantA");
+        Assertions.assertTrue(firstBatchStarted.await(5, TimeUnit.SECONDS));
+        submit("tenantA");
+        release.countDown();
+        queue.stop();
+
+        Assertions.assertEquals(List.of("tenantA:1", "tenantA:1"), batches);
+        Assertions.assertThrows(TaskQueueFullException.class, () -> submit("tenantA"));
+    }
+
+    @Test
+    void testDrainedTenantsAreNotKept() throws InterruptedException {
+        queue = start(100, 100, 10);
+
+        submit("tenantA");
+        Assertions.assertTrue(firstBatchStarted.await(5, TimeUnit.SECONDS));
+        submit("tenantB");
+        submit("tenantC");
+        Assertions.assertEquals(3, meterRegistry.get("tasks.ingest.tenants").gauge().value());
+
+        release.countDown();
+        queue.stop();
+
+        Assertions.assertEquals(0, meterRegistry.get("tasks.ingest.tenants").gauge().value());
+    }
+
+    private TaskIngestQueue start(final int capacity, final int tenantCapacity, final int batchSize) {
+        final TaskIngestQueue started = new TaskIngestQueue(taskService, new TenantIdentifierResolver(), meterRegistry,
+                new TenantTags(50), capacity, tenantCapacity, batchSize, Duration.ofSeconds(5), Duration.ofSeconds(1));
+        started.start();
+        return started;
+    }
+
+    private void submit(final String tenant) {
+        try (TenantContext.Scope ignored = TenantContext.open(tenant)) {
+            queue.submit(new AddTaskRequest("Task", "Description"));
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.challenge.taskapp.metrics;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+final class RequestStatementCounterTest {
+
+    private final RequestStatementCounter counter = new RequestStatementCounter();
+
+    @Test
+    void testInspect_CountsOnlyWhileRecording() {
+        counter.inspect("select 1");
+
+        try (RequestStatementCounter.Recording recording = RequestStatementCounter.start()) {
+            Assertions.assertEquals("select 2", counter.inspect("select 2"));
+            Assertions.assertEquals(1, recording.count());
+            Assertions.assertEquals(List.of("select 2"), recording.statements());
+        }
+
+        counter.inspect("select 3");
+    }
+
+    @Test
+    void testInspect_NestedRecordingsCountForBoth() {
+        try (RequestStatementCounter.Recording outer = RequestStatementCounter.start()) {
+            counter.inspect("select 1");
+            try (RequestStatementCounter.Recording inner = RequestStatementCounter.start()) {
+                counter.inspect("select 2");
+                Assertions.assertEquals(1, inner.count());
+            }
+            counter.inspect("select 3");
+
+            Assertions.assertEquals(3, outer.count());
+            Assertions.assertEquals(List.of("select 1", "select 2", "select 3"), outer.statements());
+        }
+    }
+
+    @Test
+    void testInspect_KeepsBoundedStatements() {
+        try (RequestStatementCounter.Recording recording = RequestStatementCounter.start()) {
+            for (int i = 0; i < RequestStatementCounter.MAX_KEPT_STATEMENTS + 10; i++) {
+                counter.inspect("select " + i);
+            }
+
+            Assertions.assertEquals(RequestStatementCounter.MAX_KEPT_STATEMENTS + 10, recording.count());
+            Assertions.assertEquals(RequestStatementCounter.MAX_KEPT_STATEMENTS, recording.statements().size());
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.challenge.taskapp.metrics;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.function.Executable;
+
+/**
+ * Pins the number of SQL statements an action runs on the current thread, e.g. a MockMvc request:
+ * <pre>{@code
+ * assertStatementCount(1, () -> mockMvc.perform(get("/tasks/{id}", id)).andExpect(status().isOk()));
+ * }</pre>
+ */
+public final class SqlStatementAssertions {
+
+    private SqlStatementAssertions() {
+    }
+
+    public static void assertStatementCount(final int expected, final Executable action) throws Throwable {
+        try (RequestStatementCounter.Recording recording = RequestStatementCounter.start()) {
+            action.execute();
+            Assertions.assertEquals(expected, recording.count(),
+                    () -> "Unexpected number of SQL statements: " + recording.statements());
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.challenge.taskapp.metrics;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+final class TenantTagsTest {
+
+    @Test
+    void testOf_BoundsDistinctTenants() {
+        final TenantTags tenantTags = new TenantTags(2);
+
+        Assertions.assertEquals("tenant1", tenantTags.of("tenant1"));
+        Assertions.assertEquals("tenant2", tenantTags.of("tenant2"));
+        Assertions.assertEquals(TenantTags.OTHER, tenantTags.of("tenant3"));
+        Assertions.assertEquals("tenant1", tenantTags.of("tenant1"));
+    }
+
+    @Test
+    void testOf_MissingTenantIsDefault() {
+        final TenantTags tenantTags = new TenantTags(1);
+
+        Assertions.assertEquals("public", tenantTags.of(null));
+        Assertions.assertEquals("public", tenantTags.of(""));
+        Assertions.assertEquals(TenantTags.OTHER, tenantTags.of("tenant1"));
+    }
+}
@@ -0,0 +1,39 @@
+package com.challenge.taskapp.model.id;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.UUID;
+
+final class UuidV7Test {
+
+    @Test
+    void testVersionAndVariant() {
+        final UUID uuid = UuidV7.next();
+
+        Assertions.assertEquals(7, uuid.version());
+        Assertions.assertEquals(2, uuid.variant());
+    }
+
+    @Test
+    void testEncodesTimestamp() {
+        final Instant instant = Instant.parse("2025-01-15T10:15:30.123456Z");
+
+        final UUID uuid = UuidV7.from(instant);
+
+        Assertions.assertEquals(instant.toEpochMilli(), UuidV7.timestamp(uuid));
+    }
+
+    @Test
+    void testOrderedByTime() {
+        final Instant instant = Instant.parse("2025-01-15T10:15:30.123456Z");
+
+        final UUID earlier = UuidV7.from(instant);
+        final UUID sameMilliLater = UuidV7.from(instant.plusNanos(500_000));
+        final UUID nextMilli = UuidV7.from(instant.plusMillis(1));
+
+        Assertions.assertTrue(Long.compareUnsigned(earlier.getMostSignificantBits(), sameMilliLater.getMostSignificantBits()) < 0);
+        Assertions.assertTrue(Long.compareUnsigned(sameMilliLater.getMostSignificantBits(), nextMilli.getMostSignificantBits()) < 0);
+    }
+}
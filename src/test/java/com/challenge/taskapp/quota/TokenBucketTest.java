@@ -0,0 +1,75 @@
+package com.challenge.taskapp.quota;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+final class TokenBucketTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    private final AtomicLong clock = new AtomicLong(42 * SECOND);
+
+    @Test
+    void testBurstIsAcceptedThenRequestsWaitForTheRate() {
+        final TokenBucket bucket = new TokenBucket(2, 3, clock::get);
+
+        Assertions.assertEquals(0, bucket.tryAcquire());
+        Assertions.assertEquals(0, bucket.tryAcquire());
+        Assertions.assertEquals(0, bucket.tryAcquire());
+        Assertions.assertEquals(SECOND / 2, bucket.tryAcquire());
+
+        clock.addAndGet(SECOND / 2);
+        Assertions.assertEquals(0, bucket.tryAcquire());
+        Assertions.assertEquals(SECOND / 2, bucket.tryAcquire());
+    }
+
+    @Test
+    void testBucketRefillsUpToBurstOnly() {
+        final TokenBucket bucket = new TokenBucket(1, 2, clock::get);
+
+        clock.addAndGet(60 * SECOND);
+
+        Assertions.assertEquals(0, bucket.tryAcquire());
+        Assertions.assertEquals(0, bucket.tryAcquire());
+        Assertions.assertTrue(bucket.tryAcquire() > 0);
+    }
+
+    @Test
+    void testConcurrentCallersNeverExceedBurst() throws InterruptedException {
+        final TokenBucket bucket = new TokenBucket(1, 100, clock::get);
+        final AtomicInteger acquired = new AtomicInteger();
+        final CountDownLatch start = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int i = 0; i < 8; i++) {
+                executor.submit(() -> {
+                    start.await();
+                    for (int j = 0; j < 100; j++) {
+                        if (bucket.tryAcquire() == 0) {
+                            acquired.incrementAndGet();
+                        }
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+            executor.shutdown();
+            Assertions.assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        }
+
+        Assertions.assertEquals(100, acquired.get());
+    }
+
+    @Test
+    void testInvalidLimitsAreRejected() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new TokenBucket(0, 1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new TokenBucket(1, 0));
+    }
+}
@@ -0,0 +1,36 @@
+package com.challenge.taskapp.search;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+final class SearchTermsTest {
+
+    @Test
+    void testOfTask_WeightsTitleWords() {
+        final Map<String, Integer> terms = SearchTerms.ofTask("Fix login", "The login page, again: fix it!");
+
+        Assertions.assertEquals(Map.of("fix", 3, "login", 3, "the", 1, "page", 1, "again", 1, "it", 1), terms);
+    }
+
+    @Test
+    void testOfTask_FoldsCaseAndDiacritics() {
+        Assertions.assertEquals(Map.of("cafe", 2, "creme", 1), SearchTerms.ofTask("Café", "CRÈME"));
+    }
+
+    @Test
+    void testOfQuery_DistinctAndBounded() {
+        final Set<String> terms = SearchTerms.ofQuery("a b report report one two three four five six seven eight");
+
+        Assertions.assertEquals(List.of("report", "one", "two", "three", "four", "five", "six", "seven"), List.copyOf(terms));
+    }
+
+    @Test
+    void testOfQuery_Blank() {
+        Assertions.assertTrue(SearchTerms.ofQuery(null).isEmpty());
+        Assertions.assertTrue(SearchTerms.ofQuery("  ").isEmpty());
+    }
+}
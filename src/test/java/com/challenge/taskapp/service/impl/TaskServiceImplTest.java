@@ -1,15 +1,43 @@
 package com.challenge.taskapp.service.impl;
 
+import com.challenge.taskapp.cache.TaskCache;
 import com.challenge.taskapp.dto.AddTaskRequest;
+import com.challenge.taskapp.dto.BatchTasksResponse;
+import com.challenge.taskapp.dto.DeleteTasksResponse;
+import com.challenge.taskapp.dto.TaskChangesResponse;
+import com.challenge.taskapp.dto.TaskCursor;
+import com.challenge.taskapp.dto.TaskPageResponse;
 import com.challenge.taskapp.dto.TaskResponse;
+import com.challenge.taskapp.dto.UpdateTaskBatchItem;
 import com.challenge.taskapp.dto.UpdateTaskRequest;
+import com.challenge.taskapp.enums.BatchItemStatus;
+import com.challenge.taskapp.enums.TaskChangeType;
 import com.challenge.taskapp.enums.TaskStatus;
+import com.challenge.taskapp.exception.BatchRejectedException;
+import com.challenge.taskapp.exception.InvalidCursorException;
+import com.challenge.taskapp.exception.InvalidSearchQueryException;
 import com.challenge.taskapp.exception.NotFoundException;
+import com.challenge.taskapp.exception.PreconditionFailedException;
+import com.challenge.taskapp.exception.StatusUpdateException;
+import com.challenge.taskapp.ingest.QueuedTask;
 import com.challenge.taskapp.model.Task;
+import com.challenge.taskapp.model.TaskTombstone;
+import com.challenge.taskapp.model.TaskVersionTag;
+import com.challenge.taskapp.repository.ArchivedTaskRepository;
+import com.challenge.taskapp.repository.TaskIncludingArchivedRepository;
 import com.challenge.taskapp.repository.TaskRepository;
+import com.challenge.taskapp.repository.TaskStatusView;
+import com.challenge.taskapp.repository.TaskTombstoneRepository;
+import com.challenge.taskapp.search.TaskSearchIndex;
+import com.challenge.taskapp.stats.TaskStatusCounters;
+import com.challenge.taskapp.tenant.TenantIdentifierResolver;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
@@ -18,12 +46,17 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.sql.Timestamp;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Supplier;
 
 @ExtendWith(MockitoExtension.class)
 final class TaskServiceImplTest {
@@ -31,56 +64,221 @@ final class TaskServiceImplTest {
     @Mock
     private TaskRepository taskRepository;
 
+    @Mock
+    private TaskIncludingArchivedRepository taskIncludingArchivedRepository;
+
+    @Mock
+    private ArchivedTaskRepository archivedTaskRepository;
+
+    @Mock
+    private TaskTombstoneRepository taskTombstoneRepository;
+
+    @Mock
+    private TenantIdentifierResolver tenantIdentifierResolver;
+
+    @Mock
+    private Validator validator;
+
+    @Mock
+    private TaskCache taskCache;
+
+    @Mock
+    private TaskSearchIndex taskSearchIndex;
+
+    @Mock
+    private TaskStatusCounters taskStatusCounters;
+
+    @Mock
+    private EntityManager entityManager;
+
     @InjectMocks
     private TaskServiceImpl taskService;
 
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(taskService, "changesVisibilityLag", Duration.ZERO);
+        ReflectionTestUtils.setField(taskService, "changesRetention", Duration.ofDays(30));
+        // A cache that always misses
+        Mockito.lenient().when(taskCache.getTask(Mockito.any(), Mockito.any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get());
+        Mockito.lenient().when(taskCache.getList(Mockito.any(), Mockito.any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get());
+    }
+
     @Test
     void testGetAllPaged() {
         final UUID taskId = UUID.randomUUID();
         final Timestamp now = Timestamp.from(Instant.now());
-        final Task task = new Task(taskId, "Test Task", "Test Description", TaskStatus.PENDING, now, now, "tenant1");
+        final Task task = new Task(taskId, "Test Task", "Test Description", TaskStatus.PENDING, now, now, "tenant1", 0L);
 
         final Pageable pageable = PageRequest.of(0, 10);
-        final Page<Task> taskPage = new PageImpl<>(List.of(task), pageable, 1);
+        final Page<TaskResponse> taskPage = new PageImpl<>(List.of(new TaskResponse(task)), pageable, 1);
 
-        Mockito.when(taskRepository.findAll(pageable)).thenReturn(taskPage);
+        Mockito.when(taskRepository.findAllResponses(pageable)).thenReturn(taskPage);
 
-        final Page<TaskResponse> response = taskService.getAllPaged(pageable);
+        final TaskPageResponse response = taskService.getAllPaged(pageable, false, true);
 
-        Assertions.assertEquals(1, response.getTotalElements());
-        Assertions.assertEquals(taskId, response.getContent().get(0).id());
-        Assertions.assertEquals("Test Task", response.getContent().get(0).title());
+        Assertions.assertEquals(1, response.total());
+        Assertions.assertEquals(0, response.page());
+        Assertions.assertEquals(taskId, response.content().get(0).id());
+        Assertions.assertEquals("Test Task", response.content().get(0).title());
 
-        Mockito.verify(taskRepository, Mockito.times(1)).findAll(pageable);
+        Mockito.verify(taskRepository, Mockito.times(1)).findAllResponses(pageable);
+        Mockito.verify(taskRepository, Mockito.never()).findAll(Mockito.any(Pageable.class));
+    }
+
+    @Test
+    void testGetAllPaged_IncludingArchived() {
+        final Timestamp now = Timestamp.from(Instant.now());
+        final TaskResponse archived = new TaskResponse(UUID.randomUUID(), "Archived", "Description", "DONE", now, now, 1L);
+
+        final Pageable pageable = PageRequest.of(0, 10);
+        Mockito.when(taskIncludingArchivedRepository.findAllResponses(pageable))
+                .thenReturn(new PageImpl<>(List.of(archived), pageable, 1));
+
+        final TaskPageResponse response = taskService.getAllPaged(pageable, true, true);
+
+        Assertions.assertEquals(List.of(archived), response.content());
+        Mockito.verify(taskRepository, Mockito.never()).findAllResponses(Mockito.any());
+    }
+
+    @Test
+    void testGetAllPaged_WithoutTotal() {
+        final Timestamp now = Timestamp.from(Instant.now());
+        final TaskResponse task = new TaskResponse(UUID.randomUUID(), "Task", "Description", "PENDING", now, now, 0L);
+
+        final Pageable pageable = PageRequest.of(1, 1);
+        Mockito.when(taskRepository.findResponseSlice(pageable)).thenReturn(new SliceImpl<>(List.of(task), pageable, true));
+
+        final TaskPageResponse response = taskService.getAllPaged(pageable, false, false);
+
+        Assertions.assertNull(response.total());
+        Assertions.assertEquals(1, response.page());
+        Assertions.assertTrue(response.hasNext());
+        Mockito.verify(taskRepository, Mockito.never()).findAllResponses(Mockito.any());
     }
 
     @Test
     void testGetAllByStatus() {
         final UUID taskId = UUID.randomUUID();
         final Timestamp now = Timestamp.from(Instant.now());
-        final Task task = new Task(taskId, "Test Task", "Test Description", TaskStatus.IN_PROGRESS, now, now, "tenant1");
+        final Task task = new Task(taskId, "Test Task", "Test Description", TaskStatus.IN_PROGRESS, now, now, "tenant1", 0L);
 
         final Pageable pageable = PageRequest.of(0, 10);
-        final Page<Task> taskPage = new PageImpl<>(List.of(task), pageable, 1);
+        final Page<TaskResponse> taskPage = new PageImpl<>(List.of(new TaskResponse(task)), pageable, 1);
+
+        Mockito.when(taskRepository.findResponsesByStatus(TaskStatus.IN_PROGRESS, pageable)).thenReturn(taskPage);
+
+        final TaskPageResponse response = taskService.getAllByStatus(TaskStatus.IN_PROGRESS, pageable, false, true);
+
+        Assertions.assertEquals(1, response.total());
+        Assertions.assertEquals(taskId, response.content().get(0).id());
+        Assertions.assertEquals("IN_PROGRESS", response.content().get(0).status());
+
+        Mockito.verify(taskRepository, Mockito.times(1)).findResponsesByStatus(TaskStatus.IN_PROGRESS, pageable);
+    }
 
-        Mockito.when(taskRepository.findByStatus(TaskStatus.IN_PROGRESS, pageable)).thenReturn(taskPage);
+    @Test
+    void testGetAllAfter_FirstSlice() {
+        final Timestamp now = Timestamp.from(Instant.now());
+        final TaskResponse first = new TaskResponse(UUID.randomUUID(), "Task 1", "Description", "PENDING", now, now, 0L);
+        final TaskResponse second = new TaskResponse(UUID.randomUUID(), "Task 2", "Description", "PENDING", now, now, 0L);
 
-        final Page<TaskResponse> response = taskService.getAllByStatus(TaskStatus.IN_PROGRESS, pageable);
+        final Pageable limit = PageRequest.of(0, 2);
+        Mockito.when(taskRepository.findFirstSlice(limit)).thenReturn(new SliceImpl<>(List.of(first, second), limit, true));
 
-        Assertions.assertEquals(1, response.getTotalElements());
-        Assertions.assertEquals(taskId, response.getContent().get(0).id());
-        Assertions.assertEquals("IN_PROGRESS", response.getContent().get(0).status());
+        final TaskPageResponse response = taskService.getAllAfter(null, null, 2, false);
 
-        Mockito.verify(taskRepository, Mockito.times(1)).findByStatus(TaskStatus.IN_PROGRESS, pageable);
+        Assertions.assertEquals(2, response.content().size());
+        Assertions.assertTrue(response.hasNext());
+        Assertions.assertEquals(new TaskCursor(second), TaskCursor.decode(response.nextCursor()));
+
+        Mockito.verify(taskRepository, Mockito.never()).findAll(Mockito.any(Pageable.class));
+    }
+
+    @Test
+    void testGetAllAfter_LastSliceByStatus() {
+        final Timestamp now = Timestamp.from(Instant.now());
+        final TaskCursor cursor = new TaskCursor(now, UUID.randomUUID());
+        final TaskResponse task = new TaskResponse(UUID.randomUUID(), "Task", "Description", "IN_PROGRESS", now, now, 0L);
+
+        final Pageable limit = PageRequest.of(0, 10);
+        Mockito.when(taskRepository.findSliceByStatusAfter(TaskStatus.IN_PROGRESS, cursor.timestamp(), cursor.id(), limit))
+                .thenReturn(new SliceImpl<>(List.of(task), limit, false));
+
+        final TaskPageResponse response = taskService.getAllAfter(cursor, TaskStatus.IN_PROGRESS, 10, false);
+
+        Assertions.assertEquals(1, response.content().size());
+        Assertions.assertFalse(response.hasNext());
+        Assertions.assertNull(response.nextCursor());
+    }
+
+    @Test
+    void testGetChanges() {
+        final Timestamp since = Timestamp.from(Instant.parse("2025-01-01T00:00:00Z"));
+        final Timestamp created = Timestamp.from(Instant.parse("2025-01-02T00:00:00Z"));
+        final Timestamp updated = Timestamp.from(Instant.parse("2025-01-03T00:00:00Z"));
+        final Timestamp deleted = Timestamp.from(Instant.parse("2025-01-04T00:00:00Z"));
+        final Task createdTask = new Task(UUID.randomUUID(), "Created", "Description", TaskStatus.PENDING, created, created, "tenant1", 0L);
+        final Task updatedTask = new Task(UUID.randomUUID(), "Updated", "Description", TaskStatus.PENDING,
+                Timestamp.from(Instant.parse("2024-12-01T00:00:00Z")), updated, "tenant1", 0L);
+        final TaskTombstone tombstone = Mockito.mock(TaskTombstone.class);
+        Mockito.when(tombstone.getTaskId()).thenReturn(UUID.randomUUID());
+        Mockito.when(tombstone.getDeletedAt()).thenReturn(deleted);
+
+        Mockito.when(taskRepository.findChangedAfter(Mockito.eq(since), Mockito.eq(TaskCursor.NIL_ID), Mockito.any(), Mockito.any()))
+                .thenReturn(List.of(createdTask, updatedTask));
+        Mockito.when(taskTombstoneRepository.findDeletedAfter(Mockito.eq(since), Mockito.eq(TaskCursor.NIL_ID), Mockito.any(), Mockito.any()))
+                .thenReturn(List.of(tombstone));
+
+        final TaskChangesResponse response = taskService.getChanges(null, since.toInstant(), 2);
+
+        Assertions.assertEquals(2, response.changes().size());
+        Assertions.assertTrue(response.hasMore());
+        Assertions.assertEquals(TaskChangeType.CREATED, response.changes().get(0).type());
+        Assertions.assertEquals(TaskChangeType.UPDATED, response.changes().get(1).type());
+        Assertions.assertEquals(new TaskCursor(updated, updatedTask.getId()), TaskCursor.decode(response.nextCursor()));
+    }
+
+    @Test
+    void testGetChanges_ExpiredCursor() {
+        final TaskCursor expired = new TaskCursor(Timestamp.from(Instant.now().minus(Duration.ofDays(31))), TaskCursor.NIL_ID);
+
+        Assertions.assertThrows(InvalidCursorException.class, () -> taskService.getChanges(expired, null, 10));
+
+        Mockito.verify(taskTombstoneRepository, Mockito.never()).findDeletedAfter(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    void testSearch() {
+        final Timestamp now = Timestamp.from(Instant.now());
+        final Task best = new Task(UUID.randomUUID(), "Write report", "Quarterly report", TaskStatus.PENDING, now, now, "tenant1", 0L);
+        final Task other = new Task(UUID.randomUUID(), "Read report", "Description", TaskStatus.PENDING, now, now, "tenant1", 0L);
+
+        Mockito.when(taskSearchIndex.search(Set.of("report"), 0, 2)).thenReturn(List.of(best.getId(), other.getId()));
+        Mockito.when(taskRepository.findAllById(List.of(best.getId()))).thenReturn(List.of(best));
+
+        final TaskPageResponse response = taskService.search("Report!", 0, 1);
+
+        Assertions.assertEquals(1, response.content().size());
+        Assertions.assertEquals(best.getId(), response.content().getFirst().id());
+        Assertions.assertTrue(response.hasNext());
+    }
+
+    @Test
+    void testSearch_NoSearchableWord() {
+        Assertions.assertThrows(InvalidSearchQueryException.class, () -> taskService.search(" - ", 0, 20));
+
+        Mockito.verifyNoInteractions(taskSearchIndex);
     }
 
     @Test
     void testFind() {
         final UUID taskId = UUID.randomUUID();
         final Timestamp now = Timestamp.from(Instant.now());
-        final Task task = new Task(taskId, "Test Task", "Test Description", TaskStatus.PENDING, now, now, "tenant1");
+        final Task task = new Task(taskId, "Test Task", "Test Description", TaskStatus.PENDING, now, now, "tenant1", 0L);
 
-        Mockito.when(taskRepository.findById(taskId)).thenReturn(Optional.of(task));
+        Mockito.when(taskRepository.findResponseById(taskId)).thenReturn(Optional.of(new TaskResponse(task)));
 
         final TaskResponse response = taskService.find(taskId);
 
@@ -89,26 +287,52 @@ final class TaskServiceImplTest {
         Assertions.assertEquals("Test Description", response.description());
         Assertions.assertEquals("PENDING", response.status());
 
-        Mockito.verify(taskRepository, Mockito.times(1)).findById(taskId);
+        Mockito.verify(taskRepository, Mockito.times(1)).findResponseById(taskId);
+        Mockito.verify(taskRepository, Mockito.never()).findById(taskId);
+    }
+
+    @Test
+    void testFind_CacheHit() {
+        final UUID taskId = UUID.randomUUID();
+        final Timestamp now = Timestamp.from(Instant.now());
+        final TaskResponse cached = new TaskResponse(taskId, "Test Task", "Test Description", "PENDING", now, now, 0L);
+
+        Mockito.when(taskCache.getTask(Mockito.eq(taskId), Mockito.any())).thenReturn(cached);
+
+        Assertions.assertEquals(cached, taskService.find(taskId));
+
+        Mockito.verify(taskRepository, Mockito.never()).findResponseById(taskId);
+    }
+
+    @Test
+    void testFind_Archived() {
+        final UUID taskId = UUID.randomUUID();
+        final Timestamp now = Timestamp.from(Instant.now());
+        final TaskResponse archived = new TaskResponse(taskId, "Archived", "Description", "DONE", now, now, 1L);
+
+        Mockito.when(taskRepository.findResponseById(taskId)).thenReturn(Optional.empty());
+        Mockito.when(archivedTaskRepository.findResponseById(taskId)).thenReturn(Optional.of(archived));
+
+        Assertions.assertEquals(archived, taskService.find(taskId));
     }
 
     @Test
     void testFind_NotFound() {
         final UUID taskId = UUID.randomUUID();
 
-        Mockito.when(taskRepository.findById(taskId)).thenReturn(Optional.empty());
+        Mockito.when(taskRepository.findResponseById(taskId)).thenReturn(Optional.empty());
 
         Assertions.assertThrows(NotFoundException.class, () -> taskService.find(taskId));
 
-        Mockito.verify(taskRepository, Mockito.times(1)).findById(taskId);
+        Mockito.verify(taskRepository, Mockito.times(1)).findResponseById(taskId);
     }
 
     @Test
     void testUpdate() {
         final UUID taskId = UUID.randomUUID();
         final Timestamp now = Timestamp.from(Instant.now());
-        final Task existingTask = new Task(taskId, "Old Title", "Old Description", TaskStatus.PENDING, now, now, "tenant1");
-        final Task updatedTask = new Task(taskId, "New Title", "New Description", TaskStatus.IN_PROGRESS, now, now, "tenant1");
+        final Task existingTask = new Task(taskId, "Old Title", "Old Description", TaskStatus.PENDING, now, now, "tenant1", 0L);
+        final Task updatedTask = new Task(taskId, "New Title", "New Description", TaskStatus.IN_PROGRESS, now, now, "tenant1", 0L);
 
         final UpdateTaskRequest updateRequest = new UpdateTaskRequest("New Title", "New Description", TaskStatus.IN_PROGRESS);
 
@@ -124,6 +348,8 @@ final class TaskServiceImplTest {
 
         Mockito.verify(taskRepository, Mockito.times(1)).findById(taskId);
         Mockito.verify(taskRepository, Mockito.times(1)).save(existingTask);
+        Mockito.verify(taskStatusCounters, Mockito.times(1)).move(TaskStatus.PENDING, TaskStatus.IN_PROGRESS);
+        Mockito.verify(taskCache, Mockito.times(1)).evict(List.of(taskId));
     }
 
     @Test
@@ -139,6 +365,66 @@ final class TaskServiceImplTest {
         Mockito.verify(taskRepository, Mockito.never()).save(Mockito.any(Task.class));
     }
 
+    @Test
+    void testUpdate_StaleVersionTag() {
+        final UUID taskId = UUID.randomUUID();
+        final Timestamp now = Timestamp.from(Instant.now());
+        final Task existingTask = new Task(taskId, "Old Title", "Old Description", TaskStatus.PENDING, now, now, "tenant1", 0L);
+        final UpdateTaskRequest updateRequest = new UpdateTaskRequest("New Title", "New Description", TaskStatus.IN_PROGRESS);
+        final String staleTag = TaskVersionTag.of(existingTask.getVersion() - 1);
+
+        Mockito.when(taskRepository.findById(taskId)).thenReturn(Optional.of(existingTask));
+
+        Assertions.assertThrows(PreconditionFailedException.class, () -> taskService.update(taskId, updateRequest, staleTag));
+
+        Assertions.assertEquals("Old Title", existingTask.getTitle());
+        Mockito.verify(taskRepository, Mockito.never()).save(Mockito.any(Task.class));
+        Mockito.verify(taskCache, Mockito.never()).evict(Mockito.anyCollection());
+    }
+
+    @Test
+    void testUpdateStatus() {
+        final UUID taskId = UUID.randomUUID();
+
+        Mockito.when(tenantIdentifierResolver.resolveCurrentTenantIdentifier()).thenReturn("tenant1");
+        Mockito.when(taskRepository.updateStatus(Mockito.eq(taskId), Mockito.eq("tenant1"), Mockito.eq(TaskStatus.DONE),
+                Mockito.eq(List.of(TaskStatus.IN_PROGRESS)), Mockito.any(Timestamp.class))).thenReturn(1);
+
+        taskService.updateStatus(taskId, TaskStatus.DONE);
+
+        Mockito.verify(taskRepository, Mockito.never()).findById(taskId);
+        Mockito.verify(taskRepository, Mockito.never()).findStatusByIdAndTenantId(Mockito.any(), Mockito.any());
+        Mockito.verify(taskStatusCounters, Mockito.times(1)).recountLater();
+        Mockito.verify(taskCache, Mockito.times(1)).evict(List.of(taskId));
+    }
+
+    @Test
+    void testUpdateStatus_Refused() {
+        final UUID taskId = UUID.randomUUID();
+
+        Mockito.when(tenantIdentifierResolver.resolveCurrentTenantIdentifier()).thenReturn("tenant1");
+        Mockito.when(taskRepository.updateStatus(Mockito.eq(taskId), Mockito.eq("tenant1"), Mockito.eq(TaskStatus.DONE),
+                Mockito.anyCollection(), Mockito.any(Timestamp.class))).thenReturn(0);
+        Mockito.when(taskRepository.findStatusByIdAndTenantId(taskId, "tenant1")).thenReturn(Optional.of(TaskStatus.PENDING));
+
+        Assertions.assertThrows(StatusUpdateException.class, () -> taskService.updateStatus(taskId, TaskStatus.DONE));
+
+        Mockito.verify(taskStatusCounters, Mockito.never()).recountLater();
+        Mockito.verify(taskCache, Mockito.never()).evict(Mockito.anyCollection());
+    }
+
+    @Test
+    void testUpdateStatus_NotFound() {
+        final UUID taskId = UUID.randomUUID();
+
+        Mockito.when(tenantIdentifierResolver.resolveCurrentTenantIdentifier()).thenReturn("tenant1");
+        Mockito.when(taskRepository.updateStatus(Mockito.eq(taskId), Mockito.eq("tenant1"), Mockito.eq(TaskStatus.IN_PROGRESS),
+                Mockito.anyCollection(), Mockito.any(Timestamp.class))).thenReturn(0);
+        Mockito.when(taskRepository.findStatusByIdAndTenantId(taskId, "tenant1")).thenReturn(Optional.empty());
+
+        Assertions.assertThrows(NotFoundException.class, () -> taskService.updateStatus(taskId, TaskStatus.IN_PROGRESS));
+    }
+
     @Test
     void testUpdate_NullId() {
         final UpdateTaskRequest updateRequest = new UpdateTaskRequest("New Title", "New Description", TaskStatus.IN_PROGRESS);
@@ -165,7 +451,7 @@ final class TaskServiceImplTest {
         final String expectedTitle = "New Task";
         final String expectedDescription = "Task Description";
         final String expectedStatus = "PENDING";
-        final Task savedTask = new Task(taskId, "New Task", "Task Description", TaskStatus.PENDING, now, now, "tenant1");
+        final Task savedTask = new Task(taskId, "New Task", "Task Description", TaskStatus.PENDING, now, now, "tenant1", 0L);
 
         Mockito.when(taskRepository.save(Mockito.any(Task.class))).thenReturn(savedTask);
 
@@ -177,30 +463,241 @@ final class TaskServiceImplTest {
         Assertions.assertEquals(expectedStatus, response.status());
 
         Mockito.verify(taskRepository, Mockito.times(1)).save(Mockito.any(Task.class));
+        Mockito.verify(taskStatusCounters, Mockito.times(1)).add(TaskStatus.PENDING, 1);
+    }
+
+    @Test
+    void testCreateQueued() {
+        final UUID taskId = UUID.randomUUID();
+
+        taskService.createQueued(List.of(new QueuedTask(taskId, new AddTaskRequest("Queued", "Description"))));
+
+        final ArgumentCaptor<Task> persisted = ArgumentCaptor.forClass(Task.class);
+        Mockito.verify(entityManager, Mockito.times(1)).persist(persisted.capture());
+        Assertions.assertEquals(taskId, persisted.getValue().getId());
+        Assertions.assertEquals("Queued", persisted.getValue().getTitle());
+        Mockito.verify(taskRepository, Mockito.never()).save(Mockito.any(Task.class));
+        Mockito.verify(taskStatusCounters, Mockito.times(1)).add(TaskStatus.PENDING, 1);
+        Mockito.verify(taskSearchIndex, Mockito.times(1)).index(List.of(persisted.getValue()));
+    }
+
+    @Test
+    void testArchive() {
+        final Instant doneBefore = Instant.now().minus(Duration.ofDays(30));
+        final Timestamp old = Timestamp.from(doneBefore.minus(Duration.ofDays(1)));
+        final Task task = new Task(UUID.randomUUID(), "Done", "Description", TaskStatus.DONE, old, old, "tenant1", 2L);
+
+        Mockito.when(tenantIdentifierResolver.resolveCurrentTenantIdentifier()).thenReturn("tenant1");
+        Mockito.when(taskRepository.findToArchive(TaskStatus.DONE, Timestamp.from(doneBefore), PageRequest.of(0, 100)))
+                .thenReturn(List.of(task));
+
+        Assertions.assertEquals(1, taskService.archive(doneBefore, 100));
+
+        Mockito.verify(taskRepository, Mockito.times(1))
+                .copyToArchive(Mockito.eq(List.of(task.getId())), Mockito.eq("tenant1"), Mockito.any(Timestamp.class));
+        Mockito.verify(taskRepository, Mockito.times(1)).deleteByIdInAndTenantId(List.of(task.getId()), "tenant1");
+        Mockito.verify(taskStatusCounters, Mockito.times(1)).add(TaskStatus.DONE, -1);
+        Mockito.verify(taskSearchIndex, Mockito.times(1)).remove(List.of(task.getId()));
+        Mockito.verify(taskCache, Mockito.times(1)).evict(List.of(task.getId()));
+    }
+
+    @Test
+    void testArchive_NothingToArchive() {
+        Mockito.when(taskRepository.findToArchive(Mockito.eq(TaskStatus.DONE), Mockito.any(), Mockito.any()))
+                .thenReturn(List.of());
+
+        Assertions.assertEquals(0, taskService.archive(Instant.now(), 100));
+
+        Mockito.verify(taskRepository, Mockito.never()).copyToArchive(Mockito.any(), Mockito.any(), Mockito.any());
+        Mockito.verify(taskCache, Mockito.never()).evict(Mockito.any());
+    }
+
+    @Test
+    void testUpdateAll() {
+        final UUID taskId = UUID.randomUUID();
+        final UUID missingId = UUID.randomUUID();
+        final Timestamp now = Timestamp.from(Instant.now());
+        final Task existingTask = new Task(taskId, "Old Title", "Old Description", TaskStatus.PENDING, now, now, "tenant1", 0L);
+
+        Mockito.when(taskRepository.findAllById(Mockito.anyIterable())).thenReturn(List.of(existingTask));
+
+        final BatchTasksResponse response = taskService.updateAll(List.of(
+                new UpdateTaskBatchItem(taskId, new UpdateTaskRequest("New Title", "New Description", TaskStatus.IN_PROGRESS)),
+                new UpdateTaskBatchItem(missingId, new UpdateTaskRequest("Title", "Description", null))), false);
+
+        Assertions.assertEquals(1, response.succeeded());
+        Assertions.assertEquals(1, response.failed());
+        Assertions.assertEquals(BatchItemStatus.UPDATED, response.results().get(0).status());
+        Assertions.assertEquals("New Title", response.results().get(0).task().title());
+        Assertions.assertEquals(BatchItemStatus.FAILED, response.results().get(1).status());
+        Assertions.assertEquals(missingId, response.results().get(1).id());
+
+        Mockito.verify(taskRepository, Mockito.times(1)).findAllById(Mockito.anyIterable());
+        Mockito.verify(taskRepository, Mockito.times(1)).flush();
+    }
+
+    @Test
+    void testUpdateAll_DuplicateId() {
+        final UUID taskId = UUID.randomUUID();
+        final Timestamp now = Timestamp.from(Instant.now());
+        final Task existingTask = new Task(taskId, "Old Title", "Old Description", TaskStatus.PENDING, now, now, "tenant1", 0L);
+
+        Mockito.when(taskRepository.findAllById(Mockito.anyIterable())).thenReturn(List.of(existingTask));
+
+        final BatchTasksResponse response = taskService.updateAll(List.of(
+                new UpdateTaskBatchItem(taskId, new UpdateTaskRequest("First", null, null)),
+                new UpdateTaskBatchItem(taskId, new UpdateTaskRequest("Second", null, null))), false);
+
+        Assertions.assertEquals(1, response.succeeded());
+        Assertions.assertEquals(BatchItemStatus.FAILED, response.results().get(1).status());
+        Assertions.assertEquals("First", existingTask.getTitle());
+        Mockito.verify(taskSearchIndex, Mockito.times(1)).reindex(List.of(existingTask));
+    }
+
+    @Test
+    void testUpdateAll_StatusOnlyIsNotReindexed() {
+        final UUID taskId = UUID.randomUUID();
+        final Timestamp now = Timestamp.from(Instant.now());
+        final Task existingTask = new Task(taskId, "Title", "Description", TaskStatus.PENDING, now, now, "tenant1", 0L);
+
+        Mockito.when(taskRepository.findAllById(Mockito.anyIterable())).thenReturn(List.of(existingTask));
+
+        final BatchTasksResponse response = taskService.updateAll(List.of(
+                new UpdateTaskBatchItem(taskId, new UpdateTaskRequest("Title", null, TaskStatus.IN_PROGRESS))), false);
+
+        Assertions.assertEquals(1, response.succeeded());
+        Mockito.verify(taskSearchIndex, Mockito.never()).reindex(Mockito.any());
+        Mockito.verify(taskCache, Mockito.times(1)).evict(List.of(taskId));
+    }
+
+    @Test
+    void testUpdateAll_AtomicSucceeds() {
+        final UUID taskId = UUID.randomUUID();
+        final Timestamp now = Timestamp.from(Instant.now());
+        final Task existingTask = new Task(taskId, "Old Title", "Old Description", TaskStatus.PENDING, now, now, "tenant1", 0L);
+
+        Mockito.when(taskRepository.findAllById(Mockito.anyIterable())).thenReturn(List.of(existingTask));
+        // Stands for the @Version increment of the flush
+        Mockito.doAnswer(invocation -> {
+            existingTask.setVersion(1L);
+            return null;
+        }).when(taskRepository).flush();
+
+        final BatchTasksResponse response = taskService.updateAll(List.of(
+                new UpdateTaskBatchItem(taskId, new UpdateTaskRequest("New Title", null, null))), true);
+
+        Assertions.assertEquals(1, response.succeeded());
+        Assertions.assertEquals(1L, response.results().get(0).task().version());
+    }
+
+    @Test
+    void testUpdateAll_AtomicRejectsInvalidStatus() {
+        final UUID taskId = UUID.randomUUID();
+        final Timestamp now = Timestamp.from(Instant.now());
+        final Task existingTask = new Task(taskId, "Old Title", "Old Description", TaskStatus.PENDING, now, now, "tenant1", 0L);
+
+        Mockito.when(taskRepository.findAllById(Mockito.anyIterable())).thenReturn(List.of(existingTask));
+
+        final List<UpdateTaskBatchItem> items = List.of(
+                new UpdateTaskBatchItem(taskId, new UpdateTaskRequest("New Title", "New Description", TaskStatus.DONE)));
+
+        Assertions.assertThrows(BatchRejectedException.class, () -> taskService.updateAll(items, true));
+        Assertions.assertEquals("Old Title", existingTask.getTitle());
+    }
+
+    @Test
+    void testCreateAll() {
+        Mockito.when(taskRepository.saveAll(Mockito.anyList())).thenAnswer(arg -> arg.getArgument(0));
+
+        final BatchTasksResponse response = taskService.createAll(List.of(
+                new AddTaskRequest("Task 1", "Description"),
+                new AddTaskRequest("Task 2", null)), false);
+
+        Assertions.assertEquals(2, response.succeeded());
+        Assertions.assertEquals(0, response.failed());
+        Assertions.assertEquals("Task 2", response.results().get(1).task().title());
+
+        Mockito.verify(taskRepository, Mockito.times(1)).saveAll(Mockito.anyList());
+        Mockito.verify(taskRepository, Mockito.never()).save(Mockito.any(Task.class));
     }
 
     @Test
     void testDelete() {
         final UUID taskId = UUID.randomUUID();
-        final Task task = Mockito.mock(Task.class);
 
-        Mockito.when(taskRepository.findById(taskId)).thenReturn(Optional.of(task));
+        Mockito.when(tenantIdentifierResolver.resolveCurrentTenantIdentifier()).thenReturn("tenant1");
+        Mockito.when(taskRepository.findStatusForUpdate(taskId, "tenant1")).thenReturn(Optional.of("IN_PROGRESS"));
 
         taskService.delete(taskId);
 
-        Mockito.verify(taskRepository, Mockito.times(1)).findById(taskId);
-        Mockito.verify(taskRepository, Mockito.times(1)).deleteById(taskId);
+        Mockito.verify(taskRepository, Mockito.times(1)).deleteByIdAndTenantId(taskId, "tenant1");
+        Mockito.verify(taskRepository, Mockito.never()).findById(taskId);
+        Mockito.verify(taskStatusCounters, Mockito.times(1)).add(TaskStatus.IN_PROGRESS, -1);
+        Mockito.verify(taskTombstoneRepository, Mockito.times(1)).save(Mockito.any(TaskTombstone.class));
     }
 
     @Test
     void testDelete_NotFound() {
         final UUID taskId = UUID.randomUUID();
 
-        Mockito.when(taskRepository.findById(taskId)).thenReturn(Optional.empty());
+        Mockito.when(tenantIdentifierResolver.resolveCurrentTenantIdentifier()).thenReturn("tenant1");
+        Mockito.when(taskRepository.findStatusForUpdate(taskId, "tenant1")).thenReturn(Optional.empty());
 
         Assertions.assertThrows(NotFoundException.class, () -> taskService.delete(taskId));
 
-        Mockito.verify(taskRepository, Mockito.times(1)).findById(taskId);
-        Mockito.verify(taskRepository, Mockito.never()).deleteById(taskId);
+        Mockito.verify(taskRepository, Mockito.never()).deleteByIdAndTenantId(Mockito.any(), Mockito.any());
+        Mockito.verify(taskStatusCounters, Mockito.never()).add(Mockito.any(), Mockito.anyLong());
+        Mockito.verify(taskTombstoneRepository, Mockito.never()).save(Mockito.any(TaskTombstone.class));
+    }
+
+    @Test
+    void testDelete_WithVersionTag() {
+        final UUID taskId = UUID.randomUUID();
+        final Timestamp now = Timestamp.from(Instant.now());
+        final Task existingTask = new Task(taskId, "Title", "Description", TaskStatus.PENDING, now, now, "tenant1", 0L);
+
+        Mockito.when(tenantIdentifierResolver.resolveCurrentTenantIdentifier()).thenReturn("tenant1");
+        Mockito.when(taskRepository.findById(taskId)).thenReturn(Optional.of(existingTask));
+        Mockito.when(taskRepository.deleteByIdAndTenantIdAndVersion(taskId, "tenant1", 0L)).thenReturn(1);
+
+        taskService.delete(taskId, TaskVersionTag.of(existingTask));
+
+        Mockito.verify(taskRepository, Mockito.never()).findStatusForUpdate(Mockito.any(), Mockito.any());
+        Mockito.verify(taskStatusCounters, Mockito.times(1)).add(TaskStatus.PENDING, -1);
+        Mockito.verify(taskTombstoneRepository, Mockito.times(1)).save(Mockito.any(TaskTombstone.class));
+    }
+
+    @Test
+    void testDelete_ConcurrentlyModified() {
+        final UUID taskId = UUID.randomUUID();
+        final Timestamp now = Timestamp.from(Instant.now());
+        final Task existingTask = new Task(taskId, "Title", "Description", TaskStatus.PENDING, now, now, "tenant1", 0L);
+
+        Mockito.when(tenantIdentifierResolver.resolveCurrentTenantIdentifier()).thenReturn("tenant1");
+        Mockito.when(taskRepository.findById(taskId)).thenReturn(Optional.of(existingTask));
+        Mockito.when(taskRepository.deleteByIdAndTenantIdAndVersion(taskId, "tenant1", 0L)).thenReturn(0);
+
+        Assertions.assertThrows(PreconditionFailedException.class,
+                () -> taskService.delete(taskId, TaskVersionTag.of(existingTask)));
+
+        Mockito.verify(taskTombstoneRepository, Mockito.never()).save(Mockito.any(TaskTombstone.class));
+    }
+
+    @Test
+    void testDeleteAll() {
+        final UUID existingId = UUID.randomUUID();
+        final UUID missingId = UUID.randomUUID();
+
+        Mockito.when(tenantIdentifierResolver.resolveCurrentTenantIdentifier()).thenReturn("tenant1");
+        Mockito.when(taskRepository.findStatusesByIdInAndTenantId(Mockito.anyCollection(), Mockito.eq("tenant1")))
+                .thenReturn(List.of(new TaskStatusView(existingId, TaskStatus.DONE)));
+
+        final DeleteTasksResponse response = taskService.deleteAll(List.of(existingId, missingId));
+
+        Assertions.assertEquals(List.of(existingId), response.deleted());
+        Assertions.assertEquals(List.of(missingId), response.notFound());
+
+        Mockito.verify(taskRepository, Mockito.times(1)).deleteByIdInAndTenantId(Set.of(existingId), "tenant1");
+        Mockito.verify(taskStatusCounters, Mockito.times(1)).add(TaskStatus.DONE, -1);
     }
 }
@@ -0,0 +1,147 @@
+package com.challenge.taskapp.stats;
+
+import com.challenge.taskapp.enums.TaskStatus;
+import com.challenge.taskapp.model.TaskStatusCount;
+import com.challenge.taskapp.repository.TaskRepository;
+import com.challenge.taskapp.repository.TaskStatusCountRepository;
+import com.challenge.taskapp.tenant.TenancyProperties;
+import com.challenge.taskapp.tenant.TenantIdentifierResolver;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+@ExtendWith(MockitoExtension.class)
+final class TaskStatusCountersTest {
+
+    @Mock
+    private TaskStatusCountRepository taskStatusCountRepository;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private TenantIdentifierResolver tenantIdentifierResolver;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private TaskStatusCounters taskStatusCounters;
+
+    @BeforeEach
+    void setUp() {
+        taskStatusCounters = new TaskStatusCounters(taskStatusCountRepository, taskRepository, tenantIdentifierResolver,
+                new TenancyProperties(Map.of(), Duration.ofMinutes(10), 5), transactionManager, Duration.ofMinutes(1));
+        Mockito.when(tenantIdentifierResolver.resolveCurrentTenantIdentifier()).thenReturn("tenant1");
+    }
+
+    @Test
+    void testCountsAddPendingChangesToStoredCounts() {
+        Mockito.when(taskStatusCountRepository.findByTenantId("tenant1"))
+                .thenReturn(List.of(new TaskStatusCount("tenant1", TaskStatus.PENDING, 5)));
+
+        taskStatusCounters.add(TaskStatus.PENDING, 1);
+        taskStatusCounters.move(TaskStatus.PENDING, TaskStatus.DONE);
+
+        Assertions.assertEquals(Map.of(TaskStatus.PENDING, 5L, TaskStatus.IN_PROGRESS, 0L, TaskStatus.DONE, 1L),
+                taskStatusCounters.counts());
+    }
+
+    @Test
+    void testCountsNeverGoNegative() {
+        Mockito.when(taskStatusCountRepository.findByTenantId("tenant1")).thenReturn(List.of());
+
+        taskStatusCounters.add(TaskStatus.DONE, -1);
+
+        Assertions.assertEquals(0L, taskStatusCounters.counts().get(TaskStatus.DONE));
+    }
+
+    @Test
+    void testFlushMovesPendingChangesToTheTable() {
+        taskStatusCounters.add(TaskStatus.PENDING, 2);
+        taskStatusCounters.add(TaskStatus.DONE, 1);
+        Mockito.when(taskStatusCountRepository.addToCount("tenant1", TaskStatus.PENDING, 2)).thenReturn(1);
+        Mockito.when(taskStatusCountRepository.addToCount("tenant1", TaskStatus.DONE, 1)).thenReturn(0);
+
+        taskStatusCounters.flush();
+
+        Mockito.verify(taskStatusCountRepository, Mockito.times(1)).save(Mockito.any(TaskStatusCount.class));
+        Mockito.verify(taskStatusCountRepository, Mockito.never()).addToCount("tenant1", TaskStatus.IN_PROGRESS, 0);
+
+        // Nothing left to flush
+        taskStatusCounters.flush();
+        Mockito.verify(taskStatusCountRepository, Mockito.times(2)).addToCount(Mockito.any(), Mockito.any(), Mockito.anyLong());
+    }
+
+    @Test
+    void testFailedFlushKeepsPendingChanges() {
+        taskStatusCounters.add(TaskStatus.PENDING, 1);
+        Mockito.when(taskStatusCountRepository.addToCount("tenant1", TaskStatus.PENDING, 1))
+                .thenThrow(new IllegalStateException("database down"));
+
+        taskStatusCounters.flush();
+
+        Mockito.when(taskStatusCountRepository.findByTenantId("tenant1")).thenReturn(List.of());
+        Assertions.assertEquals(1L, taskStatusCounters.counts().get(TaskStatus.PENDING));
+    }
+
+    @Test
+    void testReconcileReplacesCountsAndDropsPendingChanges() {
+        taskStatusCounters.add(TaskStatus.PENDING, 3);
+        Mockito.when(taskRepository.findTenants()).thenReturn(List.of("tenant1"));
+        Mockito.when(taskRepository.countByStatus("tenant1")).thenReturn(List.<Object[]>of(new Object[] {"PENDING", 2L}));
+        Mockito.when(taskStatusCountRepository.setCount("tenant1", TaskStatus.PENDING, 2)).thenReturn(1);
+        Mockito.when(taskStatusCountRepository.findByTenantId("tenant1"))
+                .thenReturn(List.of(new TaskStatusCount("tenant1", TaskStatus.PENDING, 2)));
+
+        taskStatusCounters.reconcile();
+
+        // Every row is overwritten in place, only a missing non-zero count is inserted
+        Mockito.verify(taskStatusCountRepository, Mockito.times(1)).setCount("tenant1", TaskStatus.DONE, 0);
+        Mockito.verify(taskStatusCountRepository, Mockito.never()).save(Mockito.any(TaskStatusCount.class));
+        Assertions.assertEquals(2L, taskStatusCounters.counts().get(TaskStatus.PENDING));
+    }
+
+    @Test
+    void testReconcileKeepsChangesCommittedDuringTheRecount() {
+        taskStatusCounters.add(TaskStatus.PENDING, 3);
+        Mockito.when(taskRepository.findTenants()).thenReturn(List.of("tenant1"));
+        Mockito.when(taskRepository.countByStatus("tenant1")).thenAnswer(invocation -> {
+            // Committed after the recount read the table
+            taskStatusCounters.add(TaskStatus.DONE, 1);
+            return List.<Object[]>of(new Object[] {"PENDING", 3L});
+        });
+        Mockito.when(taskStatusCountRepository.findByTenantId("tenant1"))
+                .thenReturn(List.of(new TaskStatusCount("tenant1", TaskStatus.PENDING, 3)));
+
+        taskStatusCounters.reconcile();
+
+        Assertions.assertEquals(3L, taskStatusCounters.counts().get(TaskStatus.PENDING));
+        Assertions.assertEquals(1L, taskStatusCounters.counts().get(TaskStatus.DONE));
+    }
+
+    @Test
+    void testFlushRecountsTenantsMarkedForRecount() {
+        Mockito.when(taskRepository.countByStatus("tenant1")).thenReturn(List.<Object[]>of(new Object[] {"DONE", 1L}));
+        Mockito.when(taskStatusCountRepository.setCount("tenant1", TaskStatus.DONE, 1)).thenReturn(1);
+        Mockito.when(taskStatusCountRepository.findByTenantId("tenant1"))
+                .thenReturn(List.of(new TaskStatusCount("tenant1", TaskStatus.DONE, 1)));
+
+        taskStatusCounters.recountLater();
+        taskStatusCounters.flush();
+
+        Assertions.assertEquals(1L, taskStatusCounters.counts().get(TaskStatus.DONE));
+
+        // Recounted once, until marked again
+        taskStatusCounters.flush();
+        Mockito.verify(taskRepository, Mockito.times(1)).countByStatus("tenant1");
+    }
+}
@@ -0,0 +1,65 @@
+package com.challenge.taskapp.tenant;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+final class TenantContextTest {
+
+    private final TenantIdentifierResolver resolver = new TenantIdentifierResolver();
+
+    @Test
+    void testScopeRestoresPreviousTenant() {
+        try (TenantContext.Scope outer = TenantContext.open("tenant1")) {
+            try (TenantContext.Scope inner = TenantContext.open("tenant2")) {
+                Assertions.assertEquals("tenant2", resolver.resolveCurrentTenantIdentifier());
+            }
+            Assertions.assertEquals("tenant1", resolver.resolveCurrentTenantIdentifier());
+        }
+        Assertions.assertNull(TenantContext.getCurrentTenant());
+        Assertions.assertEquals("public", resolver.resolveCurrentTenantIdentifier());
+    }
+
+    @Test
+    void testWrapPropagatesTenantToVirtualThreads() throws Exception {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            final String resolved;
+            try (TenantContext.Scope scope = TenantContext.open("tenant1")) {
+                resolved = executor.submit(TenantContext.wrap(resolver::resolveCurrentTenantIdentifier)).get();
+            }
+            Assertions.assertEquals("tenant1", resolved);
+
+            // Without the carrier the tenant does not leak into other threads
+            try (TenantContext.Scope scope = TenantContext.open("tenant1")) {
+                Assertions.assertEquals("public", executor.submit(resolver::resolveCurrentTenantIdentifier).get());
+            }
+        }
+    }
+
+    @Test
+    void testScopesStayOnTheirVirtualThreadAcrossParking() throws Exception {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            final List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 1000; i++) {
+                final String tenant = "tenant" + i;
+                results.add(executor.submit(() -> {
+                    final String resolved;
+                    try (TenantContext.Scope scope = TenantContext.open(tenant)) {
+                        // Parks the virtual thread, it may resume on another carrier
+                        Thread.sleep(1);
+                        resolved = resolver.resolveCurrentTenantIdentifier();
+                    }
+                    return resolved + ":" + TenantContext.getCurrentTenant();
+                }));
+            }
+            for (int i = 0; i < results.size(); i++) {
+                Assertions.assertEquals("tenant" + i + ":null", results.get(i).get());
+            }
+        }
+    }
+}